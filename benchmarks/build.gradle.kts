@@ -0,0 +1,31 @@
+dependencies {
+    implementation(projects.cornContext)
+    implementation(projects.cornProperties)
+    implementation(projects.cornMisc)
+
+    implementation(libs.jmh.core)
+    annotationProcessor(libs.jmh.generator)
+}
+
+tasks.withType<AbstractPublishToMaven>().configureEach {
+    enabled = false
+}
+
+tasks.register<JavaExec>("jmh") {
+    group = "benchmark"
+    description = "Runs the JMH benchmarks, filter with -Pjmh.includes=<regex> and pass options with -Pjmh.args=<args>"
+
+    val results = layout.buildDirectory.file("reports/jmh/results.json")
+    outputs.file(results)
+    outputs.upToDateWhen { false }
+    doFirst {
+        results.get().asFile.parentFile.mkdirs()
+    }
+
+    classpath = sourceSets.main.get().runtimeClasspath
+    mainClass.set("org.openjdk.jmh.Main")
+    args(providers.gradleProperty("jmh.includes").getOrElse(".*"))
+    args("-prof", "gc")
+    args("-rf", "json", "-rff", results.get().asFile.absolutePath)
+    args(providers.gradleProperty("jmh.args").getOrElse("").split(" ").filter { it.isNotBlank() })
+}
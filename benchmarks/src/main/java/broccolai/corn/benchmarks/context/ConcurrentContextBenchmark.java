@@ -0,0 +1,190 @@
+/*
+ * This file is part of corn, licensed under the GNU Lesser General Public License (LGPL) version 3 license.
+ *
+ * Copyright (C)  2020-2023 broccolai
+ * Copyright (C)  2020-2023 Contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package broccolai.corn.benchmarks.context;
+
+import broccolai.corn.context.ConcurrentContext;
+import broccolai.corn.context.Context;
+import broccolai.corn.context.ContextKey;
+import broccolai.corn.context.MappedContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures contention on a shared {@link ConcurrentContext} against a {@link MappedContext} guarded by a lock.
+ * <p>
+ * The benchmarks run once per nested class, sweeping 1, 2, 4, 8, 16 and 32 threads to compare how both scale.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public abstract class ConcurrentContextBenchmark {
+
+    private static final int KEYS = 64;
+
+    private final ConcurrentContext concurrent = new ConcurrentContext();
+    private final Context locked = new MappedContext();
+
+    @SuppressWarnings("unchecked")
+    private final ContextKey<Integer>[] keys = new ContextKey[KEYS];
+
+    /**
+     * Populate both contexts with every key.
+     */
+    @Setup
+    public void setup() {
+        for (int i = 0; i < KEYS; i++) {
+            this.keys[i] = ContextKey.of("benchmark", "key-" + i, Integer.class);
+            this.concurrent.put(this.keys[i], i);
+            this.locked.put(this.keys[i], i);
+        }
+    }
+
+    /**
+     * Read a random key from the concurrent context.
+     *
+     * @return Read value
+     */
+    @Benchmark
+    public int concurrentRead() {
+        return this.concurrent.getInt(this.randomKey(), -1);
+    }
+
+    /**
+     * Write a random key to the concurrent context.
+     */
+    @Benchmark
+    public void concurrentWrite() {
+        this.concurrent.put(this.randomKey(), 1);
+    }
+
+    /**
+     * Increment a random key of the concurrent context through compare and set.
+     */
+    @Benchmark
+    public void concurrentCompareAndSet() {
+        final ContextKey<Integer> key = this.randomKey();
+        Integer current;
+
+        do {
+            current = this.concurrent.getOrNull(key);
+        } while (!this.concurrent.compareAndSet(key, current, current + 1));
+    }
+
+    /**
+     * Read a random key from the locked context.
+     *
+     * @return Read value
+     */
+    @Benchmark
+    public int lockedRead() {
+        final ContextKey<Integer> key = this.randomKey();
+
+        synchronized (this.locked) {
+            return this.locked.getInt(key, -1);
+        }
+    }
+
+    /**
+     * Write a random key to the locked context.
+     */
+    @Benchmark
+    public void lockedWrite() {
+        final ContextKey<Integer> key = this.randomKey();
+
+        synchronized (this.locked) {
+            this.locked.put(key, 1);
+        }
+    }
+
+    /**
+     * Increment a random key of the locked context.
+     */
+    @Benchmark
+    public void lockedIncrement() {
+        final ContextKey<Integer> key = this.randomKey();
+
+        synchronized (this.locked) {
+            this.locked.put(key, this.locked.getInt(key, 0) + 1);
+        }
+    }
+
+    private ContextKey<Integer> randomKey() {
+        return this.keys[ThreadLocalRandom.current().nextInt(KEYS)];
+    }
+
+    /**
+     * Runs the benchmarks on a single thread.
+     */
+    @Threads(1)
+    public static class Threads1 extends ConcurrentContextBenchmark {
+    }
+
+    /**
+     * Runs the benchmarks on 2 threads.
+     */
+    @Threads(2)
+    public static class Threads2 extends ConcurrentContextBenchmark {
+    }
+
+    /**
+     * Runs the benchmarks on 4 threads.
+     */
+    @Threads(4)
+    public static class Threads4 extends ConcurrentContextBenchmark {
+    }
+
+    /**
+     * Runs the benchmarks on 8 threads.
+     */
+    @Threads(8)
+    public static class Threads8 extends ConcurrentContextBenchmark {
+    }
+
+    /**
+     * Runs the benchmarks on 16 threads.
+     */
+    @Threads(16)
+    public static class Threads16 extends ConcurrentContextBenchmark {
+    }
+
+    /**
+     * Runs the benchmarks on 32 threads.
+     */
+    @Threads(32)
+    public static class Threads32 extends ConcurrentContextBenchmark {
+    }
+
+}
@@ -0,0 +1,107 @@
+/*
+ * This file is part of corn, licensed under the GNU Lesser General Public License (LGPL) version 3 license.
+ *
+ * Copyright (C)  2020-2023 broccolai
+ * Copyright (C)  2020-2023 Contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package broccolai.corn.benchmarks.context;
+
+import broccolai.corn.context.Context;
+import broccolai.corn.context.ContextCodec;
+import broccolai.corn.context.ContextKey;
+import broccolai.corn.context.DelegatingContextKeyRegistry;
+import broccolai.corn.context.MappedContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of encoding and decoding a context of mixed value types through {@link ContextCodec}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContextCodecBenchmark {
+
+    private static final int KEYS = 16;
+
+    private final Context context = new MappedContext();
+    private final ByteBuffer encodeBuffer = ByteBuffer.allocate(4096);
+    private final ByteBuffer decodeBuffer = ByteBuffer.allocate(4096);
+    private ContextCodec codec;
+
+    /**
+     * Register the keys, populate the context and encode it once for decoding.
+     */
+    @Setup
+    public void setup() {
+        final DelegatingContextKeyRegistry registry = new DelegatingContextKeyRegistry();
+
+        for (int i = 0; i < KEYS; i++) {
+            if (i % 2 == 0) {
+                final ContextKey<Long> key = ContextKey.of("benchmark", "codec-long-" + i, Long.class);
+                registry.register(key);
+                this.context.put(key, (long) i);
+            } else {
+                final ContextKey<String> key = ContextKey.of("benchmark", "codec-string-" + i, String.class);
+                registry.register(key);
+                this.context.put(key, "value-" + i);
+            }
+        }
+
+        this.codec = ContextCodec.builder(registry).build();
+        this.codec.encode(this.context, this.decodeBuffer);
+        this.decodeBuffer.flip();
+    }
+
+    /**
+     * Encode the context into a reused buffer.
+     *
+     * @return Encoded length
+     */
+    @Benchmark
+    public int encode() {
+        this.encodeBuffer.clear();
+        this.codec.encode(this.context, this.encodeBuffer);
+        return this.encodeBuffer.position();
+    }
+
+    /**
+     * Decode the pre-encoded context.
+     *
+     * @return Decoded context
+     */
+    @Benchmark
+    public Context decode() {
+        this.decodeBuffer.rewind();
+        return this.codec.decode(this.decodeBuffer);
+    }
+
+}
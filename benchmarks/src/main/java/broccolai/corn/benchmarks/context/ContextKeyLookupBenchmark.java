@@ -0,0 +1,126 @@
+/*
+ * This file is part of corn, licensed under the GNU Lesser General Public License (LGPL) version 3 license.
+ *
+ * Copyright (C)  2020-2023 broccolai
+ * Copyright (C)  2020-2023 Contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package broccolai.corn.benchmarks.context;
+
+import broccolai.corn.context.Context;
+import broccolai.corn.context.ContextKey;
+import broccolai.corn.context.MappedContext;
+import io.leangen.geantyref.TypeToken;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link MappedContext} lookups through interned keys against keys hashed and compared by their strings,
+ * which is how every key behaved before interning.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContextKeyLookupBenchmark {
+
+    private static final int KEYS = 16;
+
+    private final Context context = new MappedContext();
+
+    @SuppressWarnings("unchecked")
+    private final ContextKey<Integer>[] interned = new ContextKey[KEYS];
+    @SuppressWarnings("unchecked")
+    private final ContextKey<Integer>[] uninterned = new ContextKey[KEYS];
+
+    /**
+     * Populate the context and create both sets of keys.
+     */
+    @Setup
+    public void setup() {
+        for (int i = 0; i < KEYS; i++) {
+            this.interned[i] = ContextKey.of("benchmark", "lookup-" + i, Integer.class);
+            this.uninterned[i] = new UninternedKey<>("benchmark", "lookup-" + i, TypeToken.get(Integer.class));
+            this.context.put(this.interned[i], i);
+        }
+    }
+
+    /**
+     * Lookup every key through its interned instance.
+     *
+     * @param blackhole Blackhole to consume results
+     */
+    @Benchmark
+    public void interned(final Blackhole blackhole) {
+        for (final ContextKey<Integer> key : this.interned) {
+            blackhole.consume(this.context.getOrNull(key));
+        }
+    }
+
+    /**
+     * Lookup every key through an equal but uninterned instance.
+     *
+     * @param blackhole Blackhole to consume results
+     */
+    @Benchmark
+    public void uninterned(final Blackhole blackhole) {
+        for (final ContextKey<Integer> key : this.uninterned) {
+            blackhole.consume(this.context.getOrNull(key));
+        }
+    }
+
+    private record UninternedKey<T>(
+            @NonNull String namespace,
+            @NonNull String name,
+            @NonNull TypeToken<T> token
+    ) implements ContextKey<T> {
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.namespace, this.name);
+        }
+
+        @Override
+        public boolean equals(final @Nullable Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof ContextKey<?> that)) {
+                return false;
+            }
+
+            return Objects.equals(this.namespace, that.namespace()) && Objects.equals(this.name, that.name());
+        }
+
+    }
+
+}
@@ -0,0 +1,124 @@
+/*
+ * This file is part of corn, licensed under the GNU Lesser General Public License (LGPL) version 3 license.
+ *
+ * Copyright (C)  2020-2023 broccolai
+ * Copyright (C)  2020-2023 Contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package broccolai.corn.benchmarks.context;
+
+import broccolai.corn.context.Context;
+import broccolai.corn.context.ContextKey;
+import broccolai.corn.context.MappedContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@link java.util.Optional} returning lookup of {@link Context} against the nullable and primitive accessors.
+ * <p>
+ * Half of the queried keys are present, run with {@code -prof gc} to compare allocation rates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContextLookupBenchmark {
+
+    private static final int KEYS = 16;
+
+    private final Context context = new MappedContext();
+
+    @SuppressWarnings("unchecked")
+    private final ContextKey<Integer>[] keys = new ContextKey[KEYS];
+
+    /**
+     * Populate every other key of the context.
+     */
+    @Setup
+    public void setup() {
+        for (int i = 0; i < KEYS; i++) {
+            this.keys[i] = ContextKey.of("benchmark", "key-" + i, Integer.class);
+
+            if (i % 2 == 0) {
+                this.context.put(this.keys[i], i);
+            }
+        }
+    }
+
+    /**
+     * Lookup every key through {@link Context#get(ContextKey)}.
+     *
+     * @param blackhole Blackhole to consume results
+     */
+    @Benchmark
+    public void optional(final Blackhole blackhole) {
+        for (final ContextKey<Integer> key : this.keys) {
+            blackhole.consume(this.context.get(key).orElse(-1));
+        }
+    }
+
+    /**
+     * Lookup every key through {@link Context#getOrNull(ContextKey)}.
+     *
+     * @param blackhole Blackhole to consume results
+     */
+    @Benchmark
+    public void orNull(final Blackhole blackhole) {
+        for (final ContextKey<Integer> key : this.keys) {
+            blackhole.consume(this.context.getOrNull(key));
+        }
+    }
+
+    /**
+     * Lookup every key through {@link Context#getOrDefault(ContextKey, Object)}.
+     *
+     * @param blackhole Blackhole to consume results
+     */
+    @Benchmark
+    public void orDefault(final Blackhole blackhole) {
+        final Integer fallback = -1;
+
+        for (final ContextKey<Integer> key : this.keys) {
+            blackhole.consume(this.context.getOrDefault(key, fallback));
+        }
+    }
+
+    /**
+     * Lookup every key through {@link Context#getInt(ContextKey, int)}.
+     *
+     * @param blackhole Blackhole to consume results
+     */
+    @Benchmark
+    public void primitive(final Blackhole blackhole) {
+        for (final ContextKey<Integer> key : this.keys) {
+            blackhole.consume(this.context.getInt(key, -1));
+        }
+    }
+
+}
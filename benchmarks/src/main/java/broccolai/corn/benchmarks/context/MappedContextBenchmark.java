@@ -0,0 +1,104 @@
+/*
+ * This file is part of corn, licensed under the GNU Lesser General Public License (LGPL) version 3 license.
+ *
+ * Copyright (C)  2020-2023 broccolai
+ * Copyright (C)  2020-2023 Contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package broccolai.corn.benchmarks.context;
+
+import broccolai.corn.context.Context;
+import broccolai.corn.context.ContextKey;
+import broccolai.corn.context.MappedContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures lookups in and construction of a {@link MappedContext} across context sizes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappedContextBenchmark {
+
+    @Param({"10", "1000", "100000", "1000000"})
+    private int size;
+
+    private ContextKey<Integer>[] keys;
+    private Context context;
+    private int index;
+
+    /**
+     * Create the keys and populate the context.
+     */
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        this.keys = new ContextKey[this.size];
+        this.context = new MappedContext();
+
+        for (int i = 0; i < this.size; i++) {
+            this.keys[i] = ContextKey.of("benchmark", "mapped-" + i, Integer.class);
+            this.context.put(this.keys[i], i);
+        }
+    }
+
+    /**
+     * Lookup the next key, cycling through every key of the context.
+     *
+     * @return Stored value
+     */
+    @Benchmark
+    public Integer get() {
+        if (++this.index == this.size) {
+            this.index = 0;
+        }
+
+        return this.context.getOrNull(this.keys[this.index]);
+    }
+
+    /**
+     * Build a context containing every key.
+     *
+     * @return Built context
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Context build() {
+        final Context built = new MappedContext();
+
+        for (int i = 0; i < this.size; i++) {
+            built.put(this.keys[i], i);
+        }
+
+        return built;
+    }
+
+}
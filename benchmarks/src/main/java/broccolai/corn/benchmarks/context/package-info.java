@@ -0,0 +1,4 @@
+/**
+ * Benchmarks for the Corn context module
+ */
+package broccolai.corn.benchmarks.context;
@@ -0,0 +1,178 @@
+/*
+ * This file is part of corn, licensed under the GNU Lesser General Public License (LGPL) version 3 license.
+ *
+ * Copyright (C)  2020-2023 broccolai
+ * Copyright (C)  2020-2023 Contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package broccolai.corn.benchmarks.core;
+
+import broccolai.corn.core.Lists;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Measures {@link Lists} operations across input sizes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListsBenchmark {
+
+    private static final int GROUPS = 16;
+
+    @Param({"10", "1000", "100000", "1000000"})
+    private int size;
+
+    private List<Integer> input;
+    private String[] output;
+
+    /**
+     * Create the input list of random values and a reusable output array.
+     */
+    @Setup
+    public void setup() {
+        this.input = new ArrayList<>(this.size);
+
+        for (int i = 0; i < this.size; i++) {
+            this.input.add(ThreadLocalRandom.current().nextInt(1_000_000));
+        }
+
+        this.output = new String[this.size];
+    }
+
+    /**
+     * Group the input into a fixed amount of groups.
+     *
+     * @return Grouped values
+     */
+    @Benchmark
+    public Map<Integer, List<Integer>> group() {
+        return Lists.group(this.input, value -> value % GROUPS);
+    }
+
+    /**
+     * Group the input with the previous implementation, which looked every group up three times per element
+     * and allocated a discarded list for every element.
+     *
+     * @return Grouped values
+     */
+    @Benchmark
+    public Map<Integer, List<Integer>> groupLegacy() {
+        return legacyGroup(this.input, value -> value % GROUPS);
+    }
+
+    /**
+     * Count the values of every group through a downstream collector.
+     *
+     * @return Amount of values per group
+     */
+    @Benchmark
+    public Map<Integer, Long> groupCounting() {
+        return Lists.group(this.input, value -> value % GROUPS, Collectors.counting());
+    }
+
+    /**
+     * Map every value of the input.
+     *
+     * @return Mapped values
+     */
+    @Benchmark
+    public List<String> map() {
+        return Lists.map(this.input, String::valueOf);
+    }
+
+    /**
+     * Map every value of the input into a reused array.
+     *
+     * @return Reused array holding the mapped values
+     */
+    @Benchmark
+    public String[] mapIntoArray() {
+        Lists.map(this.input, String::valueOf, this.output);
+        return this.output;
+    }
+
+    /**
+     * Map, filter and group the input eagerly, materialising a list after every step.
+     *
+     * @return Grouped values
+     */
+    @Benchmark
+    public Map<Integer, List<Integer>> pipelineEager() {
+        final List<Integer> mapped = Lists.map(this.input, value -> value * 3);
+        final List<Integer> filtered = new ArrayList<>();
+
+        for (final Integer value : mapped) {
+            if (value % 2 == 0) {
+                filtered.add(value);
+            }
+        }
+
+        return Lists.group(filtered, value -> value % GROUPS);
+    }
+
+    /**
+     * Map, filter and group the input through a lazy view, fused into a single loop.
+     *
+     * @return Grouped values
+     */
+    @Benchmark
+    public Map<Integer, List<Integer>> pipelineView() {
+        return Lists.view(this.input)
+                .map(value -> value * 3)
+                .filter(value -> value % 2 == 0)
+                .groupBy(value -> value % GROUPS);
+    }
+
+    private static <T, R> Map<R, List<T>> legacyGroup(final List<T> input, final Function<T, R> function) {
+        final Map<R, List<T>> output = new HashMap<>();
+
+        for (final T value : input) {
+            final R type = function.apply(value);
+            output.putIfAbsent(type, new ArrayList<>());
+
+            final List<T> current = output.get(type);
+            current.add(value);
+
+            output.put(type, current);
+        }
+
+        return output;
+    }
+
+}
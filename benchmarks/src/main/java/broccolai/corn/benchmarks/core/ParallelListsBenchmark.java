@@ -0,0 +1,118 @@
+/*
+ * This file is part of corn, licensed under the GNU Lesser General Public License (LGPL) version 3 license.
+ *
+ * Copyright (C)  2020-2023 broccolai
+ * Copyright (C)  2020-2023 Contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package broccolai.corn.benchmarks.core;
+
+import broccolai.corn.core.Lists;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how the parallel {@link Lists} operations scale with the parallelism of their pool,
+ * a parallelism of one runs the sequential operations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParallelListsBenchmark {
+
+    private static final int GROUPS = 16;
+    private static final int THRESHOLD = 8192;
+
+    @Param({"100000", "1000000"})
+    private int size;
+
+    @Param({"1", "2", "4", "8", "16"})
+    private int parallelism;
+
+    private List<Integer> input;
+    private ForkJoinPool pool;
+
+    /**
+     * Create the input list of random values and the pool.
+     */
+    @Setup
+    public void setup() {
+        this.input = new ArrayList<>(this.size);
+
+        for (int i = 0; i < this.size; i++) {
+            this.input.add(ThreadLocalRandom.current().nextInt(1_000_000));
+        }
+
+        this.pool = new ForkJoinPool(this.parallelism);
+    }
+
+    /**
+     * Shutdown the pool.
+     */
+    @TearDown
+    public void tearDown() {
+        this.pool.shutdown();
+    }
+
+    /**
+     * Map every value of the input.
+     *
+     * @return Mapped values
+     */
+    @Benchmark
+    public List<String> map() {
+        if (this.parallelism == 1) {
+            return Lists.map(this.input, String::valueOf);
+        }
+
+        return Lists.parallelMap(this.input, String::valueOf, this.pool, THRESHOLD);
+    }
+
+    /**
+     * Group the input into a fixed amount of groups.
+     *
+     * @return Grouped values
+     */
+    @Benchmark
+    public Map<Integer, List<Integer>> group() {
+        if (this.parallelism == 1) {
+            return Lists.group(this.input, value -> value % GROUPS);
+        }
+
+        return Lists.parallelGroup(this.input, value -> value % GROUPS, this.pool, THRESHOLD);
+    }
+
+}
@@ -0,0 +1,4 @@
+/**
+ * Benchmarks for the Corn misc module
+ */
+package broccolai.corn.benchmarks.core;
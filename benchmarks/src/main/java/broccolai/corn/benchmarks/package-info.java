@@ -0,0 +1,4 @@
+/**
+ * Corn - Benchmarks
+ */
+package broccolai.corn.benchmarks;
@@ -0,0 +1,81 @@
+/*
+ * This file is part of corn, licensed under the GNU Lesser General Public License (LGPL) version 3 license.
+ *
+ * Copyright (C)  2020-2023 broccolai
+ * Copyright (C)  2020-2023 Contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package broccolai.corn.benchmarks.properties;
+
+import broccolai.corn.properties.Property;
+import broccolai.corn.properties.PropertyHolder;
+import broccolai.corn.properties.PropertySnapshot;
+import broccolai.corn.properties.SafeProperty;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * A holder resembling a typical persisted record, a few numeric fields, a string and a nested holder.
+ */
+final class BenchmarkHolder implements PropertyHolder {
+
+    private final Nested nested;
+    private int number;
+    private long counter;
+    private String word;
+
+    BenchmarkHolder(final int seed) {
+        this.number = seed;
+        this.counter = seed * 31L;
+        this.word = "word-" + seed;
+        this.nested = new Nested(seed);
+    }
+
+    void modify() {
+        this.number++;
+        this.nested.amount++;
+    }
+
+    @Override
+    public @NonNull PropertySnapshot properties() {
+        return PropertySnapshot.of(
+                Property.of("number", this.number),
+                Property.of("counter", this.counter),
+                SafeProperty.of("word", this.word),
+                Property.of("nested", this.nested)
+        );
+    }
+
+    private static final class Nested implements PropertyHolder {
+
+        private int amount;
+        private boolean enabled;
+
+        Nested(final int seed) {
+            this.amount = seed % 64;
+            this.enabled = seed % 2 == 0;
+        }
+
+        @Override
+        public @NonNull PropertySnapshot properties() {
+            return PropertySnapshot.of(
+                    Property.of("amount", this.amount),
+                    Property.of("enabled", this.enabled)
+            );
+        }
+
+    }
+
+}
@@ -0,0 +1,98 @@
+/*
+ * This file is part of corn, licensed under the GNU Lesser General Public License (LGPL) version 3 license.
+ *
+ * Copyright (C)  2020-2023 broccolai
+ * Copyright (C)  2020-2023 Contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package broccolai.corn.benchmarks.properties;
+
+import broccolai.corn.properties.DirtyPropertiesMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the dirty scan and clean of a {@link DirtyPropertiesMap} across map sizes, with one percent of the values
+ * modified since the last clean.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DirtyPropertiesMapBenchmark {
+
+    @Param({"10", "1000", "100000", "1000000"})
+    private int size;
+
+    private DirtyPropertiesMap<Integer, BenchmarkHolder> map;
+
+    /**
+     * Populate the map, clean it and modify one percent of the values.
+     */
+    @Setup
+    public void setup() {
+        this.map = DirtyPropertiesMap.hashmap();
+
+        for (int i = 0; i < this.size; i++) {
+            this.map.put(i, new BenchmarkHolder(i));
+        }
+
+        this.map.clean();
+        this.modify();
+    }
+
+    /**
+     * Collect the dirty values.
+     *
+     * @return Dirty values
+     */
+    @Benchmark
+    public Collection<BenchmarkHolder> dirty() {
+        return this.map.dirty();
+    }
+
+    /**
+     * Modify one percent of the values and reset the dirty trackers to the current state.
+     * <p>
+     * The values are modified within the benchmark as the map is clean after the first invocation otherwise.
+     */
+    @Benchmark
+    public void clean() {
+        this.modify();
+        this.map.clean();
+    }
+
+    private void modify() {
+        for (int i = 0; i < this.size; i += 100) {
+            this.map.get(i).modify();
+        }
+    }
+
+}
@@ -0,0 +1,102 @@
+/*
+ * This file is part of corn, licensed under the GNU Lesser General Public License (LGPL) version 3 license.
+ *
+ * Copyright (C)  2020-2023 broccolai
+ * Copyright (C)  2020-2023 Contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package broccolai.corn.benchmarks.properties;
+
+import broccolai.corn.properties.DirtyPropertiesMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collection;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how the parallel dirty scan of a {@link DirtyPropertiesMap} scales with the parallelism of its pool,
+ * a parallelism of one scans sequentially.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParallelDirtyScanBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int size;
+
+    @Param({"1", "2", "4", "8", "16"})
+    private int parallelism;
+
+    private DirtyPropertiesMap<Integer, BenchmarkHolder> map;
+    private ForkJoinPool pool;
+
+    /**
+     * Populate the map, modify one percent of the values and create the pool.
+     */
+    @Setup
+    public void setup() {
+        this.map = DirtyPropertiesMap.hashmap();
+
+        for (int i = 0; i < this.size; i++) {
+            this.map.put(i, new BenchmarkHolder(i));
+        }
+
+        for (int i = 0; i < this.size; i += 100) {
+            this.map.get(i).modify();
+        }
+
+        this.pool = new ForkJoinPool(this.parallelism);
+    }
+
+    /**
+     * Shutdown the pool.
+     */
+    @TearDown
+    public void tearDown() {
+        this.pool.shutdown();
+    }
+
+    /**
+     * Collect the dirty values.
+     *
+     * @return Dirty values
+     */
+    @Benchmark
+    public Collection<BenchmarkHolder> dirty() {
+        if (this.parallelism == 1) {
+            return this.map.dirty();
+        }
+
+        return this.map.dirty(this.pool, 0);
+    }
+
+}
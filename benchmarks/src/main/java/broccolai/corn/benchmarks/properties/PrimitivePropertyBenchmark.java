@@ -0,0 +1,114 @@
+/*
+ * This file is part of corn, licensed under the GNU Lesser General Public License (LGPL) version 3 license.
+ *
+ * Copyright (C)  2020-2023 broccolai
+ * Copyright (C)  2020-2023 Contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package broccolai.corn.benchmarks.properties;
+
+import broccolai.corn.properties.Property;
+import broccolai.corn.properties.PropertySnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares snapshots of a numeric holder built from boxed {@link Property#of(String, Object)} properties against
+ * the primitive factories, run with {@code -prof gc} to compare the allocations per snapshot.
+ * <p>
+ * Values lie outside of the integer cache, so every boxed property allocates its box.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrimitivePropertyBenchmark {
+
+    private int health;
+    private int level;
+    private long experience;
+    private long lastSeen;
+    private double x;
+    private double y;
+    private double z;
+    private boolean online;
+
+    /**
+     * Assign values that are not cached by their box types.
+     */
+    @Setup
+    public void setup() {
+        this.health = 1_000;
+        this.level = 2_000;
+        this.experience = 3_000_000_000L;
+        this.lastSeen = System.currentTimeMillis();
+        this.x = 128.5;
+        this.y = 64.25;
+        this.z = -512.75;
+        this.online = true;
+    }
+
+    /**
+     * Snapshot the fields through the boxing factory.
+     *
+     * @return Constructed snapshot
+     */
+    @Benchmark
+    public PropertySnapshot boxed() {
+        return PropertySnapshot.of(
+                Property.of("health", this.health),
+                Property.of("level", this.level),
+                Property.of("experience", this.experience),
+                Property.of("lastSeen", this.lastSeen),
+                Property.of("x", this.x),
+                Property.of("y", this.y),
+                Property.of("z", this.z),
+                Property.of("online", this.online)
+        );
+    }
+
+    /**
+     * Snapshot the fields through the primitive factories.
+     *
+     * @return Constructed snapshot
+     */
+    @Benchmark
+    public PropertySnapshot primitive() {
+        return PropertySnapshot.of(
+                Property.ofInt("health", this.health),
+                Property.ofInt("level", this.level),
+                Property.ofLong("experience", this.experience),
+                Property.ofLong("lastSeen", this.lastSeen),
+                Property.ofDouble("x", this.x),
+                Property.ofDouble("y", this.y),
+                Property.ofDouble("z", this.z),
+                Property.ofBoolean("online", this.online)
+        );
+    }
+
+}
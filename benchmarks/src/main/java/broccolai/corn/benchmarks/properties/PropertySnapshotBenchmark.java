@@ -0,0 +1,101 @@
+/*
+ * This file is part of corn, licensed under the GNU Lesser General Public License (LGPL) version 3 license.
+ *
+ * Copyright (C)  2020-2023 broccolai
+ * Copyright (C)  2020-2023 Contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package broccolai.corn.benchmarks.properties;
+
+import broccolai.corn.properties.Property;
+import broccolai.corn.properties.PropertySnapshot;
+import broccolai.corn.properties.SafeProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures construction and equality of {@link PropertySnapshot}s across amounts of properties.
+ * <p>
+ * A quarter of the properties are nested holders, which are flattened into the snapshot.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PropertySnapshotBenchmark {
+
+    @Param({"10", "1000", "100000", "1000000"})
+    private int size;
+
+    private Property[] properties;
+    private PropertySnapshot snapshot;
+    private PropertySnapshot equalSnapshot;
+
+    /**
+     * Create the properties and two equal snapshots of them.
+     */
+    @Setup
+    public void setup() {
+        this.properties = new Property[this.size];
+
+        for (int i = 0; i < this.size; i++) {
+            final String name = "property-" + i;
+
+            this.properties[i] = switch (i % 4) {
+                case 0 -> Property.of(name, new BenchmarkHolder(i));
+                case 1 -> SafeProperty.of(name, "value-" + i);
+                default -> Property.of(name, i);
+            };
+        }
+
+        this.snapshot = PropertySnapshot.of(this.properties);
+        this.equalSnapshot = PropertySnapshot.of(this.properties);
+    }
+
+    /**
+     * Construct a snapshot of every property.
+     *
+     * @return Constructed snapshot
+     */
+    @Benchmark
+    public PropertySnapshot construct() {
+        return PropertySnapshot.of(this.properties);
+    }
+
+    /**
+     * Compare two equal snapshots, the worst case as every property is compared.
+     *
+     * @return true
+     */
+    @Benchmark
+    public boolean equality() {
+        return this.snapshot.equals(this.equalSnapshot);
+    }
+
+}
@@ -0,0 +1,4 @@
+/**
+ * Benchmarks for the Corn properties module
+ */
+package broccolai.corn.benchmarks.properties;
@@ -0,0 +1,115 @@
+/*
+ * This file is part of corn, licensed under the GNU Lesser General Public License (LGPL) version 3 license.
+ *
+ * Copyright (C)  2020-2023 broccolai
+ * Copyright (C)  2020-2023 Contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package broccolai.corn.context;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * A thread-safe {@link Context} which can be shared between threads without external locking.
+ * <p>
+ * {@link #forEach(BiConsumer)} is weakly consistent, it never throws but may not reflect entries put while iterating.
+ */
+public final class ConcurrentContext implements Context {
+
+    private final Map<ContextKey<?>, Object> entries = new ConcurrentHashMap<>();
+
+    @Override
+    public <T> Optional<T> get(final @NonNull ContextKey<T> key) {
+        return Optional.ofNullable(this.getOrNull(key));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> @Nullable T getOrNull(final @NonNull ContextKey<T> key) {
+        return (T) this.entries.get(key);
+    }
+
+    @Override
+    public <T> void put(final @NonNull ContextKey<T> key, final @NonNull T value) {
+        this.entries.put(key, value);
+    }
+
+    /**
+     * Store a value into the context if no value is currently stored, atomically.
+     *
+     * @param key   Context key to assign with
+     * @param value Value to store against the key
+     * @param <T>   Type associated with the key and value
+     * @return The previously stored value, or null if the value was stored
+     */
+    @SuppressWarnings("unchecked")
+    public <T> @Nullable T putIfAbsent(final @NonNull ContextKey<T> key, final @NonNull T value) {
+        return (T) this.entries.putIfAbsent(key, value);
+    }
+
+    /**
+     * Get a value out of the context, computing and storing it if absent, atomically.
+     * <p>
+     * The function is invoked at most once per absent key and must not modify this context.
+     *
+     * @param key      Context key to query against
+     * @param function Function computing the value to store
+     * @param <T>      Type associated with the key
+     * @return The stored or computed value
+     * @throws NullPointerException if the function returns null, in which case nothing is stored
+     */
+    @SuppressWarnings("unchecked")
+    public <T> @NonNull T computeIfAbsent(
+            final @NonNull ContextKey<T> key,
+            final @NonNull Function<? super ContextKey<T>, ? extends @NonNull T> function
+    ) {
+        return (T) this.entries.computeIfAbsent(
+                key,
+                ignored -> Objects.requireNonNull(function.apply(key), () -> "Computed a null value for " + key)
+        );
+    }
+
+    /**
+     * Replace the stored value if it is currently equal to an expected value, atomically.
+     *
+     * @param key      Context key to assign with
+     * @param expected Value expected to be stored, or null if no value is expected
+     * @param value    Value to store against the key
+     * @param <T>      Type associated with the key and value
+     * @return true if the value was stored
+     */
+    public <T> boolean compareAndSet(final @NonNull ContextKey<T> key, final @Nullable T expected, final @NonNull T value) {
+        if (expected == null) {
+            return this.entries.putIfAbsent(key, value) == null;
+        }
+
+        return this.entries.replace(key, expected, value);
+    }
+
+    @Override
+    public void forEach(final @NonNull BiConsumer<ContextKey<?>, Object> consumer) {
+        this.entries.forEach(consumer);
+    }
+
+}
@@ -21,12 +21,44 @@
 package broccolai.corn.context;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.Optional;
 import java.util.function.BiConsumer;
 
 public interface Context {
 
+    /**
+     * Create a context layered on top of a parent context.
+     * <p>
+     * Reads fall through to the parent when the child has no value stored, writes only affect the child.
+     * The parent is shared rather than copied, so later writes to the parent are visible through the child.
+     *
+     * @param parent Context to layer on top of
+     * @return Created child context
+     */
+    static @NonNull Context child(final @NonNull Context parent) {
+        return new LayeredContext(parent);
+    }
+
+    /**
+     * Create a context layered on top of a parent context, flattening the parent chain once it gets too deep.
+     * <p>
+     * When the parent is already {@code maxDepth} layers deep, its merged view is copied into a single layer
+     * so lookups stay bounded. A child created from a flattened chain no longer observes later writes to its ancestors.
+     *
+     * @param parent   Context to layer on top of
+     * @param maxDepth Maximum amount of layers before the parent chain is flattened
+     * @return Created child context
+     */
+    static @NonNull Context child(final @NonNull Context parent, final int maxDepth) {
+        if (parent instanceof LayeredContext layered && layered.depth() >= maxDepth) {
+            return new LayeredContext(layered.flatten());
+        }
+
+        return new LayeredContext(parent);
+    }
+
     /**
      * Get a value out of the context through a key.
      *
@@ -36,6 +68,66 @@ public interface Context {
      */
     <T> Optional<T> get(@NonNull ContextKey<T> key);
 
+    /**
+     * Get a value out of the context through a key, without wrapping it.
+     *
+     * @param key Context key to query against
+     * @param <T> Type associated with the key
+     * @return Stored value, or null if no value is stored
+     */
+    default <T> @Nullable T getOrNull(final @NonNull ContextKey<T> key) {
+        return this.get(key).orElse(null);
+    }
+
+    /**
+     * Get a value out of the context through a key, falling back to a default value.
+     *
+     * @param key          Context key to query against
+     * @param defaultValue Value to return if no value is stored
+     * @param <T>          Type associated with the key
+     * @return Stored value, or the default value if no value is stored
+     */
+    default <T> @NonNull T getOrDefault(final @NonNull ContextKey<T> key, final @NonNull T defaultValue) {
+        final T value = this.getOrNull(key);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * Get an int value out of the context through a key.
+     *
+     * @param key          Context key to query against
+     * @param defaultValue Value to return if no value is stored
+     * @return Stored value, or the default value if no value is stored
+     */
+    default int getInt(final @NonNull ContextKey<Integer> key, final int defaultValue) {
+        final Integer value = this.getOrNull(key);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * Get a long value out of the context through a key.
+     *
+     * @param key          Context key to query against
+     * @param defaultValue Value to return if no value is stored
+     * @return Stored value, or the default value if no value is stored
+     */
+    default long getLong(final @NonNull ContextKey<Long> key, final long defaultValue) {
+        final Long value = this.getOrNull(key);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * Get a boolean value out of the context through a key.
+     *
+     * @param key          Context key to query against
+     * @param defaultValue Value to return if no value is stored
+     * @return Stored value, or the default value if no value is stored
+     */
+    default boolean getBoolean(final @NonNull ContextKey<Boolean> key, final boolean defaultValue) {
+        final Boolean value = this.getOrNull(key);
+        return value != null ? value : defaultValue;
+    }
+
     /**
      * Store a value into the context, defined by a key.
      *
@@ -52,4 +144,16 @@ public interface Context {
      */
     void forEach(@NonNull BiConsumer<ContextKey<?>, Object> consumer);
 
+    /**
+     * Create an immutable snapshot of the entries currently stored.
+     * <p>
+     * The snapshot is compactly laid out and safe to share between threads without synchronization,
+     * storing values into it throws an {@link UnsupportedOperationException}.
+     *
+     * @return Immutable snapshot of this context
+     */
+    default @NonNull Context freeze() {
+        return FrozenContext.of(this);
+    }
+
 }
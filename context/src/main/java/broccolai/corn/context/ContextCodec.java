@@ -0,0 +1,263 @@
+/*
+ * This file is part of corn, licensed under the GNU Lesser General Public License (LGPL) version 3 license.
+ *
+ * Copyright (C)  2020-2023 broccolai
+ * Copyright (C)  2020-2023 Contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package broccolai.corn.context;
+
+import io.leangen.geantyref.TypeToken;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary codec for {@link Context} entries of the keys within a {@link ContextKeyRegistry}.
+ * <p>
+ * Only keys that are registered and have a serializer for their token are encoded. Every key is identified by a
+ * stable 64-bit id hashed from its namespace, name and type, so ids do not depend on the order keys were registered in.
+ * Entries with ids unknown to the decoding side, including keys whose type changed, are skipped, so nodes running
+ * different versions can exchange contexts.
+ * <p>
+ * A context is written as a four byte entry count, followed by every entry as its eight byte id, a four byte payload
+ * length and the serialized value.
+ */
+public final class ContextCodec {
+
+    private static final long FNV_OFFSET_BASIS = 0xCBF29CE484222325L;
+    private static final long FNV_PRIME = 0x100000001B3L;
+
+    private final Map<ContextKey<?>, Binding<?>> bindings = new HashMap<>();
+    // sorted ids and their bindings, searched when decoding
+    private final long[] ids;
+    private final Binding<?>[] bindingsById;
+
+    private ContextCodec(
+            final @NonNull ContextKeyRegistry registry,
+            final @NonNull Map<Type, ContextValueSerializer<?>> serializers
+    ) {
+        final List<Binding<?>> bindings = new ArrayList<>();
+
+        for (final ContextKey<?> key : registry) {
+            final Binding<?> binding = Binding.create(id(key), key, serializers.get(key.token().getType()));
+
+            if (binding != null) {
+                this.bindings.put(key, binding);
+                bindings.add(binding);
+            }
+        }
+
+        bindings.sort(Comparator.comparingLong(Binding::id));
+        this.ids = new long[bindings.size()];
+        this.bindingsById = bindings.toArray(new Binding<?>[0]);
+
+        for (int i = 0; i < this.ids.length; i++) {
+            this.ids[i] = this.bindingsById[i].id();
+
+            if (i > 0 && this.ids[i] == this.ids[i - 1]) {
+                throw new IllegalArgumentException(
+                        "Keys " + this.bindingsById[i - 1].key() + " and " + this.bindingsById[i].key() + " share the same id"
+                );
+            }
+        }
+    }
+
+    /**
+     * Create a builder for a codec, with serializers for strings and boxed primitives already registered
+     *
+     * @param registry Registry of the keys to encode
+     * @return Created builder
+     */
+    public static @NonNull Builder builder(final @NonNull ContextKeyRegistry registry) {
+        return new Builder(registry);
+    }
+
+    /**
+     * Encode the entries of a context into a buffer, starting at its current position
+     *
+     * @param context Context to encode
+     * @param buffer  Buffer to write to
+     * @throws java.nio.BufferOverflowException if the buffer does not have enough space remaining
+     */
+    public void encode(final @NonNull Context context, final @NonNull ByteBuffer buffer) {
+        final int countPosition = buffer.position();
+        final int[] count = new int[1];
+        buffer.putInt(0);
+
+        context.forEach((key, value) -> {
+            final Binding<?> binding = this.bindings.get(key);
+
+            if (binding == null) {
+                return;
+            }
+
+            buffer.putLong(binding.id());
+
+            final int lengthPosition = buffer.position();
+            buffer.putInt(0);
+            binding.write(buffer, value);
+            buffer.putInt(lengthPosition, buffer.position() - lengthPosition - Integer.BYTES);
+            count[0]++;
+        });
+
+        buffer.putInt(countPosition, count[0]);
+    }
+
+    /**
+     * Decode entries from a buffer into a context, starting at the buffers current position
+     *
+     * @param buffer  Buffer to read from
+     * @param context Context to store the decoded entries in
+     * @throws java.nio.BufferUnderflowException if the buffer ends before the encoded context
+     */
+    public void decode(final @NonNull ByteBuffer buffer, final @NonNull Context context) {
+        final int count = buffer.getInt();
+
+        for (int i = 0; i < count; i++) {
+            final int index = Arrays.binarySearch(this.ids, buffer.getLong());
+            final int length = buffer.getInt();
+            final int end = buffer.position() + length;
+
+            if (index >= 0) {
+                this.bindingsById[index].read(buffer, context);
+            }
+
+            buffer.position(end);
+        }
+    }
+
+    /**
+     * Decode entries from a buffer into a new context, starting at the buffers current position
+     *
+     * @param buffer Buffer to read from
+     * @return Context containing the decoded entries
+     * @throws java.nio.BufferUnderflowException if the buffer ends before the encoded context
+     */
+    public @NonNull Context decode(final @NonNull ByteBuffer buffer) {
+        final Context context = new MappedContext();
+        this.decode(buffer, context);
+        return context;
+    }
+
+    // FNV-1a over the namespace, name and type of the key, stable across registries and processes
+    private static long id(final @NonNull ContextKey<?> key) {
+        long hash = FNV_OFFSET_BASIS;
+        hash = hash(hash, key.namespace());
+        hash = hash(hash, key.name());
+        return hash(hash, key.token().getType().getTypeName());
+    }
+
+    private static long hash(final long hash, final @NonNull String value) {
+        long result = hash;
+
+        for (int i = 0; i < value.length(); i++) {
+            final char character = value.charAt(i);
+            result = (result ^ (character & 0xFF)) * FNV_PRIME;
+            result = (result ^ (character >>> 8)) * FNV_PRIME;
+        }
+
+        // separates the parts, so moving characters between them changes the id
+        return (result ^ 0xFF) * FNV_PRIME;
+    }
+
+    private record Binding<T>(long id, @NonNull ContextKey<T> key, @NonNull ContextValueSerializer<T> serializer) {
+
+        @SuppressWarnings("unchecked")
+        static <T> @Nullable Binding<T> create(
+                final long id,
+                final @NonNull ContextKey<T> key,
+                final @Nullable ContextValueSerializer<?> serializer
+        ) {
+            if (serializer == null) {
+                return null;
+            }
+
+            return new Binding<>(id, key, (ContextValueSerializer<T>) serializer);
+        }
+
+        @SuppressWarnings("unchecked")
+        void write(final @NonNull ByteBuffer buffer, final @NonNull Object value) {
+            this.serializer.write(buffer, (T) value);
+        }
+
+        void read(final @NonNull ByteBuffer buffer, final @NonNull Context context) {
+            context.put(this.key, this.serializer.read(buffer));
+        }
+
+    }
+
+    public static final class Builder {
+
+        private final ContextKeyRegistry registry;
+        private final Map<Type, ContextValueSerializer<?>> serializers = new HashMap<>();
+
+        private Builder(final @NonNull ContextKeyRegistry registry) {
+            this.registry = registry;
+            this.serializer(String.class, ContextValueSerializer.STRING);
+            this.serializer(Integer.class, ContextValueSerializer.INTEGER);
+            this.serializer(Long.class, ContextValueSerializer.LONG);
+            this.serializer(Double.class, ContextValueSerializer.DOUBLE);
+            this.serializer(Boolean.class, ContextValueSerializer.BOOLEAN);
+        }
+
+        /**
+         * Register a serializer for values of a type
+         *
+         * @param token      TypeToken of the serialized type
+         * @param serializer Serializer to use for the type
+         * @param <T>        Type serialized
+         * @return This builder
+         */
+        public <T> @NonNull Builder serializer(final @NonNull TypeToken<T> token, final @NonNull ContextValueSerializer<T> serializer) {
+            this.serializers.put(token.getType(), serializer);
+            return this;
+        }
+
+        /**
+         * Register a serializer for values of a class
+         *
+         * @param clazz      Class of the serialized type
+         * @param serializer Serializer to use for the type
+         * @param <T>        Type serialized
+         * @return This builder
+         */
+        public <T> @NonNull Builder serializer(final @NonNull Class<T> clazz, final @NonNull ContextValueSerializer<T> serializer) {
+            this.serializers.put(clazz, serializer);
+            return this;
+        }
+
+        /**
+         * Build the codec for the keys currently registered
+         *
+         * @return Built codec
+         * @throws IllegalArgumentException if two serializable keys hash to the same id
+         */
+        public @NonNull ContextCodec build() {
+            return new ContextCodec(this.registry, this.serializers);
+        }
+
+    }
+
+}
@@ -47,29 +47,35 @@
     @NonNull TypeToken<@NonNull T> token();
 
     /**
-     * Create a ContextKey through TypeToken
+     * Create a ContextKey through TypeToken.
+     * <p>
+     * Keys are interned, creating a key with the same namespace and name returns the same instance.
      *
      * @param namespace Namespace of key
      * @param name      Name of key
      * @param token     TypeToken of the keys expected value
      * @param <T>       Type associated with the key
      * @return Built ContextKey with T generic
+     * @throws IllegalArgumentException if a key with the same namespace and name exists with a different token
      */
     static <T> ContextKey<T> of(final @NonNull String namespace, final @NonNull String name, final @NonNull TypeToken<T> token) {
-        return new ContextKeyImpl<>(namespace, name, token);
+        return ContextKeyImpl.intern(namespace, name, token);
     }
 
     /**
-     * Create a ContextKey through Class
+     * Create a ContextKey through Class.
+     * <p>
+     * Keys are interned, creating a key with the same namespace and name returns the same instance.
      *
      * @param namespace Namespace of key
      * @param name      Name of key
      * @param clazz     Clazz of the keys expected value
      * @param <T>       Type associated with the key
      * @return Built ContextKey with T generic
+     * @throws IllegalArgumentException if a key with the same namespace and name exists with a different type
      */
     static <T> ContextKey<T> of(final @NonNull String namespace, final @NonNull String name, final @NonNull Class<T> clazz) {
-        return new ContextKeyImpl<>(namespace, name, TypeToken.get(clazz));
+        return ContextKeyImpl.intern(namespace, name, TypeToken.get(clazz));
     }
 
 }
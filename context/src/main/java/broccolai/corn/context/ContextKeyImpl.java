@@ -24,18 +24,67 @@
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 final class ContextKeyImpl<T> implements ContextKey<T> {
 
+    // keys are expected to be constants, so the pool only grows with the distinct keys ever declared
+    private static final Map<String, Map<String, ContextKeyImpl<?>>> INTERNED = new ConcurrentHashMap<>();
+    private static final int[] NO_BINDINGS = new int[0];
+    // registries beyond this are not cached on the key and fall back to their own slot map
+    static final int MAX_BINDINGS = 4;
+
     private final String namespace;
     private final String name;
     private final TypeToken<T> token;
+    private final int hash;
+
+    // pairs of registry ids and the slot assigned by that registry, most recent last, usually only a single pair
+    private volatile int[] bindings = NO_BINDINGS;
 
     ContextKeyImpl(final @NonNull String namespace, final @NonNull String name, final @NonNull TypeToken<T> token) {
         this.namespace = namespace;
         this.name = name;
         this.token = token;
+        this.hash = Objects.hash(namespace, name);
+    }
+
+    /**
+     * Get the canonical key for a namespace and name, creating it if it does not exist yet
+     *
+     * @param namespace Namespace of key
+     * @param name      Name of key
+     * @param token     TypeToken of the keys expected value
+     * @param <T>       Type associated with the key
+     * @return Canonical key instance
+     * @throws IllegalArgumentException if the key was already created with a different token
+     */
+    @SuppressWarnings("unchecked")
+    static <T> @NonNull ContextKeyImpl<T> intern(
+            final @NonNull String namespace,
+            final @NonNull String name,
+            final @NonNull TypeToken<T> token
+    ) {
+        Map<String, ContextKeyImpl<?>> names = INTERNED.get(namespace);
+        if (names == null) {
+            names = INTERNED.computeIfAbsent(namespace, ignored -> new ConcurrentHashMap<>());
+        }
+
+        ContextKeyImpl<?> key = names.get(name);
+        if (key == null) {
+            key = names.computeIfAbsent(name, ignored -> new ContextKeyImpl<>(namespace, name, token));
+        }
+
+        if (key.token != token && !key.token.equals(token)) {
+            throw new IllegalArgumentException(
+                    "Key " + namespace + ":" + name + " already exists with type " + key.token.getType()
+                            + ", not " + token.getType()
+            );
+        }
+
+        return (ContextKeyImpl<T>) key;
     }
 
     @Override
@@ -53,9 +102,61 @@
         return this.token;
     }
 
+    /**
+     * Bind this key to a slot within a registry, every registry can bind the key once
+     * <p>
+     * Only the {@link #MAX_BINDINGS} most recent registries are kept, so short-lived registries cannot grow the key
+     * indefinitely. Registries whose binding was dropped must resolve the slot through their own index.
+     *
+     * @param registry Id of the registry assigning the slot
+     * @param slot     Slot assigned to this key
+     * @return true if the key was bound
+     */
+    synchronized boolean bind(final int registry, final int slot) {
+        if (this.slot(registry) != -1) {
+            return false;
+        }
+
+        final int[] current = this.bindings;
+        final int retained = Math.min(current.length, (MAX_BINDINGS - 1) * 2);
+        final int[] bindings = new int[retained + 2];
+        System.arraycopy(current, current.length - retained, bindings, 0, retained);
+        bindings[retained] = registry;
+        bindings[retained + 1] = slot;
+        this.bindings = bindings;
+        return true;
+    }
+
+    /**
+     * Get the amount of registries this key currently caches a slot for
+     *
+     * @return Amount of cached bindings
+     */
+    int bindings() {
+        return this.bindings.length / 2;
+    }
+
+    /**
+     * Get the slot assigned to this key by a registry
+     *
+     * @param registry Id of the registry to get the slot for
+     * @return Assigned slot, or -1 if this key is not bound to the registry or its binding was dropped
+     */
+    int slot(final int registry) {
+        final int[] bindings = this.bindings;
+
+        for (int i = 0; i < bindings.length; i += 2) {
+            if (bindings[i] == registry) {
+                return bindings[i + 1];
+            }
+        }
+
+        return -1;
+    }
+
     @Override
     public int hashCode() {
-        return Objects.hash(this.namespace, this.name);
+        return this.hash;
     }
 
     @Override
@@ -63,7 +164,8 @@ public boolean equals(final @Nullable Object other) {
         if (this == other) {
             return true;
         }
-        if (!(other instanceof ContextKey<?> that)) {
+        // interned keys are canonical, so two distinct instances can never be equal
+        if (other instanceof ContextKeyImpl<?> || !(other instanceof ContextKey<?> that)) {
             return false;
         }
 
@@ -0,0 +1,144 @@
+/*
+ * This file is part of corn, licensed under the GNU Lesser General Public License (LGPL) version 3 license.
+ *
+ * Copyright (C)  2020-2023 broccolai
+ * Copyright (C)  2020-2023 Contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package broccolai.corn.context;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes and reads context values of a specific type to and from a {@link ByteBuffer}.
+ *
+ * @param <T> Type of value serialized
+ */
+public interface ContextValueSerializer<T> {
+
+    /**
+     * Serializer for {@link String} values, encoded as a length prefixed UTF-8 byte sequence.
+     */
+    ContextValueSerializer<String> STRING = new ContextValueSerializer<>() {
+        @Override
+        public void write(final @NonNull ByteBuffer buffer, final @NonNull String value) {
+            final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            buffer.putInt(bytes.length);
+            buffer.put(bytes);
+        }
+
+        @Override
+        public @NonNull String read(final @NonNull ByteBuffer buffer) {
+            final int length = buffer.getInt();
+
+            if (length < 0 || length > buffer.remaining()) {
+                throw new BufferUnderflowException();
+            }
+
+            if (buffer.hasArray()) {
+                final String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+                buffer.position(buffer.position() + length);
+                return value;
+            }
+
+            final byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    };
+
+    /**
+     * Serializer for {@link Integer} values.
+     */
+    ContextValueSerializer<Integer> INTEGER = new ContextValueSerializer<>() {
+        @Override
+        public void write(final @NonNull ByteBuffer buffer, final @NonNull Integer value) {
+            buffer.putInt(value);
+        }
+
+        @Override
+        public @NonNull Integer read(final @NonNull ByteBuffer buffer) {
+            return buffer.getInt();
+        }
+    };
+
+    /**
+     * Serializer for {@link Long} values.
+     */
+    ContextValueSerializer<Long> LONG = new ContextValueSerializer<>() {
+        @Override
+        public void write(final @NonNull ByteBuffer buffer, final @NonNull Long value) {
+            buffer.putLong(value);
+        }
+
+        @Override
+        public @NonNull Long read(final @NonNull ByteBuffer buffer) {
+            return buffer.getLong();
+        }
+    };
+
+    /**
+     * Serializer for {@link Double} values.
+     */
+    ContextValueSerializer<Double> DOUBLE = new ContextValueSerializer<>() {
+        @Override
+        public void write(final @NonNull ByteBuffer buffer, final @NonNull Double value) {
+            buffer.putDouble(value);
+        }
+
+        @Override
+        public @NonNull Double read(final @NonNull ByteBuffer buffer) {
+            return buffer.getDouble();
+        }
+    };
+
+    /**
+     * Serializer for {@link Boolean} values.
+     */
+    ContextValueSerializer<Boolean> BOOLEAN = new ContextValueSerializer<>() {
+        @Override
+        public void write(final @NonNull ByteBuffer buffer, final @NonNull Boolean value) {
+            buffer.put(value ? (byte) 1 : (byte) 0);
+        }
+
+        @Override
+        public @NonNull Boolean read(final @NonNull ByteBuffer buffer) {
+            return buffer.get() != 0;
+        }
+    };
+
+    /**
+     * Write a value into the buffer at its current position.
+     *
+     * @param buffer Buffer to write to
+     * @param value  Value to write
+     */
+    void write(@NonNull ByteBuffer buffer, @NonNull T value);
+
+    /**
+     * Read a value from the buffer at its current position.
+     *
+     * @param buffer Buffer to read from
+     * @return Read value
+     * @throws java.nio.BufferUnderflowException if the buffer ends before the encoded value
+     */
+    @NonNull T read(@NonNull ByteBuffer buffer);
+
+}
@@ -22,27 +22,185 @@
 
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.HashMap;
 import java.util.Iterator;
-import java.util.Set;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class DelegatingContextKeyRegistry implements ContextKeyRegistry {
 
-    private final Set<ContextKey<?>> keys = new HashSet<>();
+    private static final AtomicInteger IDS = new AtomicInteger();
+
+    private final int id = IDS.getAndIncrement();
+    private List<ContextKey<?>> keys = new ArrayList<>();
+    private Map<ContextKey<?>, Integer> slots = new HashMap<>();
+    private Map<String, ContextKey<?>> ids = new HashMap<>();
+    private Map<String, Map<String, ContextKey<?>>> namespaces = new HashMap<>();
+    private boolean frozen = false;
 
     /**
-     * Register an array of context keys to the registry
+     * Register an array of context keys to the registry.
+     * <p>
+     * Each newly registered key is assigned a dense slot, which {@link IndexedContext} uses to store values.
      *
      * @param keys keys to register
+     * @throws IllegalStateException if the registry is frozen
      */
     public final void register(final @NonNull ContextKey<?>... keys) {
-        Collections.addAll(this.keys, keys);
+        this.checkNotFrozen();
+
+        for (final ContextKey<?> key : keys) {
+            this.registerKey(key);
+        }
+    }
+
+    /**
+     * Register a collection of context keys to the registry.
+     * <p>
+     * Each newly registered key is assigned a dense slot, which {@link IndexedContext} uses to store values.
+     *
+     * @param keys keys to register
+     * @throws IllegalStateException if the registry is frozen
+     */
+    public final void register(final @NonNull Iterable<? extends ContextKey<?>> keys) {
+        this.checkNotFrozen();
+
+        for (final ContextKey<?> key : keys) {
+            this.registerKey(key);
+        }
+    }
+
+    private void registerKey(final @NonNull ContextKey<?> key) {
+        final int slot = this.keys.size();
+
+        if (this.slots.putIfAbsent(key, slot) != null) {
+            return;
+        }
+
+        if (key instanceof ContextKeyImpl<?> keyImpl) {
+            keyImpl.bind(this.id, slot);
+        }
+
+        this.keys.add(key);
+        this.ids.put(key.namespace() + ":" + key.name(), key);
+        this.namespaces.computeIfAbsent(key.namespace(), ignored -> new LinkedHashMap<>()).put(key.name(), key);
+    }
+
+    private void checkNotFrozen() {
+        if (this.frozen) {
+            throw new IllegalStateException("Registry is frozen");
+        }
+    }
+
+    /**
+     * Freeze the registry, rejecting further registrations and compacting its indexes for lookups.
+     * <p>
+     * A frozen registry can be read from multiple threads once safely published.
+     */
+    public final void freeze() {
+        if (this.frozen) {
+            return;
+        }
+
+        final Map<String, Map<String, ContextKey<?>>> namespaces = new HashMap<>();
+        this.namespaces.forEach((namespace, names) -> namespaces.put(namespace, Collections.unmodifiableMap(names)));
+
+        this.keys = List.copyOf(this.keys);
+        this.slots = Map.copyOf(this.slots);
+        this.ids = Map.copyOf(this.ids);
+        this.namespaces = Map.copyOf(namespaces);
+        this.frozen = true;
+    }
+
+    /**
+     * Check if the registry is frozen
+     *
+     * @return true if the registry is frozen
+     */
+    public final boolean frozen() {
+        return this.frozen;
+    }
+
+    /**
+     * Get a registered key through its full id
+     *
+     * @param id Id of the key, in the form of {@code namespace:name}
+     * @return Optional of the registered key
+     */
+    public final @NonNull Optional<ContextKey<?>> key(final @NonNull String id) {
+        return Optional.ofNullable(this.ids.get(id));
+    }
+
+    /**
+     * Get a registered key through its namespace and name
+     *
+     * @param namespace Namespace of the key
+     * @param name      Name of the key
+     * @return Optional of the registered key
+     */
+    public final @NonNull Optional<ContextKey<?>> key(final @NonNull String namespace, final @NonNull String name) {
+        final Map<String, ContextKey<?>> names = this.namespaces.get(namespace);
+        return names == null ? Optional.empty() : Optional.ofNullable(names.get(name));
+    }
+
+    /**
+     * Get all keys registered within a namespace
+     *
+     * @param namespace Namespace to lookup with
+     * @return Unmodifiable view of keys in the namespace, in registration order
+     */
+    public final @NonNull Collection<ContextKey<?>> keys(final @NonNull String namespace) {
+        final Map<String, ContextKey<?>> names = this.namespaces.get(namespace);
+        return names == null ? Collections.emptyList() : Collections.unmodifiableCollection(names.values());
+    }
+
+    /**
+     * Get the amount of keys registered
+     *
+     * @return Amount of registered keys
+     */
+    public final int size() {
+        return this.keys.size();
+    }
+
+    /**
+     * Get the slot assigned to a key
+     *
+     * @param key Key to lookup with
+     * @return Slot of the key, or -1 if the key is not registered
+     */
+    final int slot(final @NonNull ContextKey<?> key) {
+        if (key instanceof ContextKeyImpl<?> keyImpl) {
+            // canonical keys cache the slot for the registries they were most recently registered with
+            final int slot = keyImpl.slot(this.id);
+            if (slot != -1) {
+                return slot;
+            }
+        }
+
+        final Integer slot = this.slots.get(key);
+        return slot == null ? -1 : slot;
+    }
+
+    /**
+     * Get the key assigned to a slot
+     *
+     * @param slot Slot to lookup with
+     * @return Key registered in the slot
+     */
+    final @NonNull ContextKey<?> keyAt(final int slot) {
+        return this.keys.get(slot);
     }
 
     @Override
     public final @NonNull Iterator<ContextKey<?>> iterator() {
-        return this.keys.iterator();
+        return Collections.unmodifiableList(this.keys).iterator();
     }
 
 }
@@ -0,0 +1,122 @@
+/*
+ * This file is part of corn, licensed under the GNU Lesser General Public License (LGPL) version 3 license.
+ *
+ * Copyright (C)  2020-2023 broccolai
+ * Copyright (C)  2020-2023 Contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package broccolai.corn.context;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+
+final class FrozenContext implements Context {
+
+    private final ContextKey<?>[] keys;
+    private final Object[] values;
+    // open addressing table of positions into keys and values, offset by one so zero marks an empty slot
+    private final int[] table;
+    private final int mask;
+
+    private FrozenContext(final @NonNull ContextKey<?>[] keys, final @NonNull Object[] values) {
+        this.keys = keys;
+        this.values = values;
+        this.table = new int[tableSize(keys.length)];
+        this.mask = this.table.length - 1;
+
+        for (int i = 0; i < keys.length; i++) {
+            int index = spread(keys[i].hashCode()) & this.mask;
+
+            while (this.table[index] != 0) {
+                index = (index + 1) & this.mask;
+            }
+
+            this.table[index] = i + 1;
+        }
+    }
+
+    static @NonNull FrozenContext of(final @NonNull Context context) {
+        if (context instanceof FrozenContext frozenContext) {
+            return frozenContext;
+        }
+
+        final List<ContextKey<?>> keys = new ArrayList<>();
+        final List<Object> values = new ArrayList<>();
+
+        context.forEach((key, value) -> {
+            keys.add(key);
+            values.add(value);
+        });
+
+        return new FrozenContext(keys.toArray(new ContextKey<?>[0]), values.toArray());
+    }
+
+    private static int tableSize(final int entries) {
+        // keep the load factor at or below one half
+        return Math.max(2, Integer.highestOneBit(Math.max(1, entries) * 2 - 1) << 1);
+    }
+
+    private static int spread(final int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    @Override
+    public <T> Optional<T> get(final @NonNull ContextKey<T> key) {
+        return Optional.ofNullable(this.getOrNull(key));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> @Nullable T getOrNull(final @NonNull ContextKey<T> key) {
+        int index = spread(key.hashCode()) & this.mask;
+        int position;
+
+        while ((position = this.table[index]) != 0) {
+            final ContextKey<?> candidate = this.keys[position - 1];
+
+            if (candidate == key || candidate.equals(key)) {
+                return (T) this.values[position - 1];
+            }
+
+            index = (index + 1) & this.mask;
+        }
+
+        return null;
+    }
+
+    @Override
+    public <T> void put(final @NonNull ContextKey<T> key, final @NonNull T value) {
+        throw new UnsupportedOperationException("Frozen contexts cannot be modified");
+    }
+
+    @Override
+    public void forEach(final @NonNull BiConsumer<ContextKey<?>, Object> consumer) {
+        for (int i = 0; i < this.keys.length; i++) {
+            consumer.accept(this.keys[i], this.values[i]);
+        }
+    }
+
+    @Override
+    public @NonNull Context freeze() {
+        return this;
+    }
+
+}
@@ -0,0 +1,117 @@
+/*
+ * This file is part of corn, licensed under the GNU Lesser General Public License (LGPL) version 3 license.
+ *
+ * Copyright (C)  2020-2023 broccolai
+ * Copyright (C)  2020-2023 Contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package broccolai.corn.context;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+
+/**
+ * A {@link Context} storing values of registered keys in a flat array indexed by the slots
+ * assigned by a {@link DelegatingContextKeyRegistry}.
+ * <p>
+ * Keys that are not registered with the registry are stored in an overflow map, values of keys registered
+ * afterwards are moved into their slot once they are put again.
+ */
+public final class IndexedContext implements Context {
+
+    private final DelegatingContextKeyRegistry registry;
+    private @Nullable Object[] values;
+    private @Nullable Map<ContextKey<?>, Object> overflow;
+
+    /**
+     * Create a context backed by the slots of a registry
+     *
+     * @param registry Registry assigning the slots
+     */
+    public IndexedContext(final @NonNull DelegatingContextKeyRegistry registry) {
+        this.registry = registry;
+        this.values = new Object[registry.size()];
+    }
+
+    @Override
+    public <T> Optional<T> get(final @NonNull ContextKey<T> key) {
+        return Optional.ofNullable(this.getOrNull(key));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> @Nullable T getOrNull(final @NonNull ContextKey<T> key) {
+        final int slot = this.registry.slot(key);
+
+        if (slot != -1 && slot < this.values.length && this.values[slot] != null) {
+            return (T) this.values[slot];
+        }
+
+        // keys registered after their value was put remain in the overflow until they are put again
+        if (this.overflow == null) {
+            return null;
+        }
+
+        return (T) this.overflow.get(key);
+    }
+
+    @Override
+    public <T> void put(final @NonNull ContextKey<T> key, final @NonNull T value) {
+        final int slot = this.registry.slot(key);
+
+        if (slot != -1) {
+            if (slot >= this.values.length) {
+                this.values = Arrays.copyOf(this.values, this.registry.size());
+            }
+
+            this.values[slot] = value;
+
+            if (this.overflow != null) {
+                this.overflow.remove(key);
+            }
+
+            return;
+        }
+
+        if (this.overflow == null) {
+            this.overflow = new HashMap<>();
+        }
+
+        this.overflow.put(key, value);
+    }
+
+    @Override
+    public void forEach(final @NonNull BiConsumer<ContextKey<?>, Object> consumer) {
+        for (int slot = 0; slot < this.values.length; slot++) {
+            final Object value = this.values[slot];
+
+            if (value != null) {
+                consumer.accept(this.registry.keyAt(slot), value);
+            }
+        }
+
+        if (this.overflow != null) {
+            this.overflow.forEach(consumer);
+        }
+    }
+
+}
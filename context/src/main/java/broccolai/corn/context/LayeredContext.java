@@ -0,0 +1,110 @@
+/*
+ * This file is part of corn, licensed under the GNU Lesser General Public License (LGPL) version 3 license.
+ *
+ * Copyright (C)  2020-2023 broccolai
+ * Copyright (C)  2020-2023 Contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package broccolai.corn.context;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+final class LayeredContext implements Context {
+
+    private final Context parent;
+    private final int depth;
+    private final Map<ContextKey<?>, Object> entries = new HashMap<>(4);
+
+    LayeredContext(final @NonNull Context parent) {
+        this.parent = parent;
+        this.depth = parent instanceof LayeredContext layered ? layered.depth + 1 : 1;
+    }
+
+    int depth() {
+        return this.depth;
+    }
+
+    @Override
+    public <T> Optional<T> get(final @NonNull ContextKey<T> key) {
+        return Optional.ofNullable(this.getOrNull(key));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> @Nullable T getOrNull(final @NonNull ContextKey<T> key) {
+        Context current = this;
+
+        while (current instanceof LayeredContext layered) {
+            final Object value = layered.entries.get(key);
+
+            if (value != null) {
+                return (T) value;
+            }
+
+            current = layered.parent;
+        }
+
+        return current.getOrNull(key);
+    }
+
+    @Override
+    public <T> void put(final @NonNull ContextKey<T> key, final @NonNull T value) {
+        this.entries.put(key, value);
+    }
+
+    @Override
+    public void forEach(final @NonNull BiConsumer<ContextKey<?>, Object> consumer) {
+        final Set<ContextKey<?>> seen = new HashSet<>();
+        Context current = this;
+
+        while (current instanceof LayeredContext layered) {
+            layered.entries.forEach((key, value) -> {
+                if (seen.add(key)) {
+                    consumer.accept(key, value);
+                }
+            });
+
+            current = layered.parent;
+        }
+
+        current.forEach((key, value) -> {
+            if (!seen.contains(key)) {
+                consumer.accept(key, value);
+            }
+        });
+    }
+
+    /**
+     * Copy the merged view of this context into a single context
+     *
+     * @return Flattened copy of this context
+     */
+    @SuppressWarnings("unchecked")
+    @NonNull Context flatten() {
+        final Context flattened = new MappedContext();
+        this.forEach((key, value) -> flattened.put((ContextKey<Object>) key, value));
+        return flattened;
+    }
+
+}
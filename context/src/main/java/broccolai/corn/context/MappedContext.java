@@ -21,6 +21,7 @@
 package broccolai.corn.context;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -32,10 +33,14 @@ public final class MappedContext implements Context {
     private final Map<ContextKey<?>, Object> entries = new HashMap<>();
 
     @Override
-    @SuppressWarnings("unchecked")
     public <T> Optional<T> get(final @NonNull ContextKey<T> key) {
-        T value = (T) this.entries.get(key);
-        return Optional.ofNullable(value);
+        return Optional.ofNullable(this.getOrNull(key));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> @Nullable T getOrNull(final @NonNull ContextKey<T> key) {
+        return (T) this.entries.get(key);
     }
 
     @Override
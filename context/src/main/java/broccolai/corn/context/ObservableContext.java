@@ -0,0 +1,227 @@
+/*
+ * This file is part of corn, licensed under the GNU Lesser General Public License (LGPL) version 3 license.
+ *
+ * Copyright (C)  2020-2023 broccolai
+ * Copyright (C)  2020-2023 Contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package broccolai.corn.context;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+
+/**
+ * A {@link Context} decorator notifying listeners subscribed to keys or namespaces when entries change.
+ * <p>
+ * Changes made within {@link #batch(Runnable)} are coalesced, each listener is notified once per batch with the
+ * latest value of every changed key it is subscribed to. Storing a value equal to the current one, or changing a key
+ * back to its original value within a batch, does not notify. Listeners are notified in the order they first
+ * subscribed.
+ * <p>
+ * This class is not thread-safe, listeners are invoked on the modifying thread unless an executor is supplied.
+ */
+public final class ObservableContext implements Context {
+
+    private static final Object ABSENT = new Object();
+
+    private final Context delegate;
+    private final Executor executor;
+
+    private final Map<ContextKey<?>, List<ContextListener>> keyListeners = new HashMap<>();
+    private final Map<String, List<ContextListener>> namespaceListeners = new HashMap<>();
+    // every subscribed listener in subscription order, notifications are dispatched in this order
+    private final Set<ContextListener> subscribers = new LinkedHashSet<>();
+
+    // original values of keys changed in the current batch, used to drop changes that were reverted
+    private final Map<ContextKey<?>, Object> originals = new LinkedHashMap<>();
+    private int batchDepth = 0;
+
+    /**
+     * Create an observable context notifying listeners on the modifying thread
+     *
+     * @param delegate Context to store entries in
+     */
+    public ObservableContext(final @NonNull Context delegate) {
+        this(delegate, Runnable::run);
+    }
+
+    /**
+     * Create an observable context dispatching notifications to an executor
+     *
+     * @param delegate Context to store entries in
+     * @param executor Executor to invoke listeners with
+     */
+    public ObservableContext(final @NonNull Context delegate, final @NonNull Executor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    /**
+     * Subscribe a listener to changes of a key
+     *
+     * @param key      Key to listen to
+     * @param listener Listener to notify
+     */
+    public void subscribe(final @NonNull ContextKey<?> key, final @NonNull ContextListener listener) {
+        this.keyListeners.computeIfAbsent(key, ignored -> new ArrayList<>()).add(listener);
+        this.subscribers.add(listener);
+    }
+
+    /**
+     * Subscribe a listener to changes of all keys within a namespace
+     *
+     * @param namespace Namespace to listen to
+     * @param listener  Listener to notify
+     */
+    public void subscribe(final @NonNull String namespace, final @NonNull ContextListener listener) {
+        this.namespaceListeners.computeIfAbsent(namespace, ignored -> new ArrayList<>()).add(listener);
+        this.subscribers.add(listener);
+    }
+
+    /**
+     * Remove a listener from all of its subscriptions
+     *
+     * @param listener Listener to remove
+     */
+    public void unsubscribe(final @NonNull ContextListener listener) {
+        this.keyListeners.values().removeIf(listeners -> listeners.remove(listener) && listeners.isEmpty());
+        this.namespaceListeners.values().removeIf(listeners -> listeners.remove(listener) && listeners.isEmpty());
+        this.subscribers.remove(listener);
+    }
+
+    /**
+     * Perform changes as a single batch, notifying listeners once afterwards.
+     * <p>
+     * Batches can be nested, listeners are notified when the outermost batch completes.
+     *
+     * @param action Action performing changes
+     */
+    public void batch(final @NonNull Runnable action) {
+        this.batchDepth++;
+
+        try {
+            action.run();
+        } finally {
+            if (--this.batchDepth == 0) {
+                this.flush();
+            }
+        }
+    }
+
+    @Override
+    public <T> Optional<T> get(final @NonNull ContextKey<T> key) {
+        return this.delegate.get(key);
+    }
+
+    @Override
+    public <T> @Nullable T getOrNull(final @NonNull ContextKey<T> key) {
+        return this.delegate.getOrNull(key);
+    }
+
+    @Override
+    public <T> void put(final @NonNull ContextKey<T> key, final @NonNull T value) {
+        if (!this.observed(key)) {
+            this.delegate.put(key, value);
+            return;
+        }
+
+        final T previous = this.delegate.getOrNull(key);
+        this.delegate.put(key, value);
+
+        if (Objects.equals(previous, value)) {
+            return;
+        }
+
+        this.originals.putIfAbsent(key, previous != null ? previous : ABSENT);
+
+        if (this.batchDepth == 0) {
+            this.flush();
+        }
+    }
+
+    @Override
+    public void forEach(final @NonNull BiConsumer<ContextKey<?>, Object> consumer) {
+        this.delegate.forEach(consumer);
+    }
+
+    private boolean observed(final @NonNull ContextKey<?> key) {
+        // checked before any lookup so writes to a context without subscribers only pay for the delegate put
+        if (this.keyListeners.isEmpty() && this.namespaceListeners.isEmpty()) {
+            return false;
+        }
+
+        return this.keyListeners.containsKey(key) || this.namespaceListeners.containsKey(key.namespace());
+    }
+
+    private void flush() {
+        if (this.originals.isEmpty()) {
+            return;
+        }
+
+        final Map<ContextListener, Map<ContextKey<?>, Object>> notifications = new HashMap<>();
+
+        this.originals.forEach((key, original) -> {
+            final Object value = this.delegate.getOrNull(key);
+
+            if (Objects.equals(original, value)) {
+                return;
+            }
+
+            this.collect(notifications, this.keyListeners.get(key), key, value);
+            this.collect(notifications, this.namespaceListeners.get(key.namespace()), key, value);
+        });
+
+        this.originals.clear();
+
+        for (final ContextListener listener : this.subscribers) {
+            final Map<ContextKey<?>, Object> changes = notifications.get(listener);
+
+            if (changes != null) {
+                final Map<ContextKey<?>, Object> view = Collections.unmodifiableMap(changes);
+                this.executor.execute(() -> listener.changed(view));
+            }
+        }
+    }
+
+    private void collect(
+            final @NonNull Map<ContextListener, Map<ContextKey<?>, Object>> notifications,
+            final @Nullable List<ContextListener> listeners,
+            final @NonNull ContextKey<?> key,
+            final @NonNull Object value
+    ) {
+        if (listeners == null) {
+            return;
+        }
+
+        for (final ContextListener listener : listeners) {
+            notifications.computeIfAbsent(listener, ignored -> new LinkedHashMap<>()).put(key, value);
+        }
+    }
+
+}
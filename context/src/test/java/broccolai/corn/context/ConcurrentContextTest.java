@@ -0,0 +1,153 @@
+/*
+ * This file is part of corn, licensed under the GNU Lesser General Public License (LGPL) version 3 license.
+ *
+ * Copyright (C)  2020-2023 broccolai
+ * Copyright (C)  2020-2023 Contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package broccolai.corn.context;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ConcurrentContextTest {
+
+    private static final int THREADS = 8;
+    private static final int ITERATIONS = 10_000;
+
+    private static final ContextKey<Integer> COUNTER = ContextKey.of("test", "counter", Integer.class);
+    private static final ContextKey<String> STRING = ContextKey.of("test", "string", String.class);
+
+    @Test
+    void putIfAbsent() {
+        ConcurrentContext context = new ConcurrentContext();
+
+        assertThat(context.putIfAbsent(STRING, "first")).isNull();
+        assertThat(context.putIfAbsent(STRING, "second")).isEqualTo("first");
+        assertThat(context.get(STRING)).hasValue("first");
+    }
+
+    @Test
+    void compareAndSet() {
+        ConcurrentContext context = new ConcurrentContext();
+
+        assertThat(context.compareAndSet(COUNTER, null, 1)).isTrue();
+        assertThat(context.compareAndSet(COUNTER, null, 2)).isFalse();
+        assertThat(context.compareAndSet(COUNTER, 1, 2)).isTrue();
+        assertThat(context.compareAndSet(COUNTER, 1, 3)).isFalse();
+        assertThat(context.getInt(COUNTER, -1)).isEqualTo(2);
+    }
+
+    @Test
+    void concurrentCompareAndSet() throws Exception {
+        ConcurrentContext context = new ConcurrentContext();
+        context.put(COUNTER, 0);
+
+        runConcurrently(() -> {
+            for (int i = 0; i < ITERATIONS; i++) {
+                Integer current;
+                do {
+                    current = context.getOrNull(COUNTER);
+                } while (!context.compareAndSet(COUNTER, current, current + 1));
+            }
+        });
+
+        assertThat(context.getInt(COUNTER, -1)).isEqualTo(THREADS * ITERATIONS);
+    }
+
+    @Test
+    void concurrentComputeIfAbsent() throws Exception {
+        ConcurrentContext context = new ConcurrentContext();
+        AtomicInteger invocations = new AtomicInteger();
+
+        runConcurrently(() -> {
+            for (int i = 0; i < ITERATIONS; i++) {
+                context.computeIfAbsent(STRING, key -> {
+                    invocations.incrementAndGet();
+                    return "computed";
+                });
+            }
+        });
+
+        assertThat(invocations.get()).isEqualTo(1);
+        assertThat(context.get(STRING)).hasValue("computed");
+    }
+
+    @Test
+    void concurrentPutAndForEach() throws Exception {
+        ConcurrentContext context = new ConcurrentContext();
+        AtomicInteger thread = new AtomicInteger();
+
+        runConcurrently(() -> {
+            int id = thread.getAndIncrement();
+
+            for (int i = 0; i < ITERATIONS / 10; i++) {
+                context.put(ContextKey.of("thread-" + id, "key-" + i, Integer.class), i);
+                context.forEach((key, value) -> assertThat(value).isNotNull());
+            }
+        });
+
+        AtomicInteger entries = new AtomicInteger();
+        context.forEach((key, value) -> entries.incrementAndGet());
+
+        assertThat(entries.get()).isEqualTo(THREADS * (ITERATIONS / 10));
+    }
+
+    private static void runConcurrently(final Runnable task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.run();
+                    return null;
+                }));
+            }
+
+            start.countDown();
+
+            for (final Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void computeIfAbsentRejectsNull() {
+        ConcurrentContext context = new ConcurrentContext();
+
+        assertThrows(NullPointerException.class, () -> context.computeIfAbsent(STRING, key -> null));
+        assertThat(context.getOrNull(STRING)).isNull();
+        assertThat(context.computeIfAbsent(STRING, key -> "value")).isEqualTo("value");
+    }
+
+}
@@ -0,0 +1,178 @@
+/*
+ * This file is part of corn, licensed under the GNU Lesser General Public License (LGPL) version 3 license.
+ *
+ * Copyright (C)  2020-2023 broccolai
+ * Copyright (C)  2020-2023 Contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package broccolai.corn.context;
+
+import io.leangen.geantyref.TypeToken;
+import org.junit.jupiter.api.Test;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ContextCodecTest {
+
+    private static final ContextKey<String> STRING = ContextKey.of("codec", "string", String.class);
+    private static final ContextKey<Integer> INT = ContextKey.of("codec", "int", Integer.class);
+    private static final ContextKey<Long> LONG = ContextKey.of("codec", "long", Long.class);
+    private static final ContextKey<Boolean> BOOLEAN = ContextKey.of("codec", "boolean", Boolean.class);
+    private static final ContextKey<UUID> UUID_KEY = ContextKey.of("codec", "uuid", UUID.class);
+    private static final ContextKey<List<String>> LIST = ContextKey.of("codec", "list", new TypeToken<List<String>>() {});
+
+    @Test
+    void roundTrip() {
+        DelegatingContextKeyRegistry registry = new DelegatingContextKeyRegistry();
+        registry.register(STRING, INT, LONG, BOOLEAN, UUID_KEY);
+
+        ContextCodec codec = ContextCodec.builder(registry)
+                .serializer(UUID.class, new UuidSerializer())
+                .build();
+
+        UUID uuid = UUID.randomUUID();
+        Context context = new MappedContext();
+        context.put(STRING, "välue");
+        context.put(INT, 5);
+        context.put(LONG, Long.MAX_VALUE);
+        context.put(BOOLEAN, true);
+        context.put(UUID_KEY, uuid);
+
+        Context decoded = roundTrip(codec, codec, context);
+
+        assertThat(entries(decoded)).containsExactlyEntriesIn(entries(context));
+    }
+
+    @Test
+    void directBuffer() {
+        DelegatingContextKeyRegistry registry = new DelegatingContextKeyRegistry();
+        registry.register(STRING);
+        ContextCodec codec = ContextCodec.builder(registry).build();
+
+        Context context = new MappedContext();
+        context.put(STRING, "direct");
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(64);
+        codec.encode(context, buffer);
+        buffer.flip();
+
+        assertThat(codec.decode(buffer).get(STRING)).hasValue("direct");
+    }
+
+    @Test
+    void truncatedString() {
+        ByteBuffer heap = ByteBuffer.allocate(64);
+        ContextValueSerializer.STRING.write(heap, "truncated");
+        heap.flip().limit(heap.limit() - 1);
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(64);
+        ContextValueSerializer.STRING.write(direct, "truncated");
+        direct.flip().limit(direct.limit() - 1);
+
+        assertThrows(BufferUnderflowException.class, () -> ContextValueSerializer.STRING.read(heap));
+        assertThrows(BufferUnderflowException.class, () -> ContextValueSerializer.STRING.read(direct));
+    }
+
+    @Test
+    void skipsUnserializableKeys() {
+        DelegatingContextKeyRegistry registry = new DelegatingContextKeyRegistry();
+        registry.register(LIST, INT);
+        ContextCodec codec = ContextCodec.builder(registry).build();
+
+        Context context = new MappedContext();
+        context.put(LIST, List.of("a"));
+        context.put(INT, 1);
+        context.put(STRING, "unregistered");
+
+        Context decoded = roundTrip(codec, codec, context);
+
+        assertThat(entries(decoded)).containsExactly(INT, 1);
+    }
+
+    @Test
+    void skipsUnknownIds() {
+        DelegatingContextKeyRegistry newer = new DelegatingContextKeyRegistry();
+        newer.register(INT, STRING, LONG);
+        DelegatingContextKeyRegistry older = new DelegatingContextKeyRegistry();
+        older.register(INT);
+
+        Context context = new MappedContext();
+        context.put(INT, 3);
+        context.put(STRING, "new");
+        context.put(LONG, 10L);
+
+        Context decoded = roundTrip(ContextCodec.builder(newer).build(), ContextCodec.builder(older).build(), context);
+
+        assertThat(entries(decoded)).containsExactly(INT, 3);
+    }
+
+    @Test
+    void differentRegistrationOrder() {
+        DelegatingContextKeyRegistry encoding = new DelegatingContextKeyRegistry();
+        encoding.register(STRING, INT, LONG);
+        DelegatingContextKeyRegistry decoding = new DelegatingContextKeyRegistry();
+        decoding.register(LONG, BOOLEAN, STRING);
+
+        Context context = new MappedContext();
+        context.put(STRING, "value");
+        context.put(INT, 3);
+        context.put(LONG, 10L);
+
+        Context decoded = roundTrip(ContextCodec.builder(encoding).build(), ContextCodec.builder(decoding).build(), context);
+
+        assertThat(entries(decoded)).containsExactly(STRING, "value", LONG, 10L);
+    }
+
+    private static Context roundTrip(final ContextCodec encoder, final ContextCodec decoder, final Context context) {
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        encoder.encode(context, buffer);
+        buffer.flip();
+
+        Context decoded = decoder.decode(buffer);
+        assertThat(buffer.hasRemaining()).isFalse();
+        return decoded;
+    }
+
+    private static Map<ContextKey<?>, Object> entries(final Context context) {
+        Map<ContextKey<?>, Object> entries = new HashMap<>();
+        context.forEach(entries::put);
+        return entries;
+    }
+
+    static final class UuidSerializer implements ContextValueSerializer<UUID> {
+
+        @Override
+        public void write(final ByteBuffer buffer, final UUID value) {
+            buffer.putLong(value.getMostSignificantBits());
+            buffer.putLong(value.getLeastSignificantBits());
+        }
+
+        @Override
+        public UUID read(final ByteBuffer buffer) {
+            return new UUID(buffer.getLong(), buffer.getLong());
+        }
+
+    }
+
+}
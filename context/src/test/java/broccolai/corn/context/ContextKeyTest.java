@@ -0,0 +1,57 @@
+/*
+ * This file is part of corn, licensed under the GNU Lesser General Public License (LGPL) version 3 license.
+ *
+ * Copyright (C)  2020-2023 broccolai
+ * Copyright (C)  2020-2023 Contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package broccolai.corn.context;
+
+import io.leangen.geantyref.TypeToken;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ContextKeyTest {
+
+    @Test
+    void interned() {
+        ContextKey<String> first = ContextKey.of("test", "interned", String.class);
+        ContextKey<String> second = ContextKey.of("test", "interned", new TypeToken<String>() {});
+
+        assertThat(second).isSameInstanceAs(first);
+    }
+
+    @Test
+    void distinctNames() {
+        ContextKey<String> first = ContextKey.of("test", "first-name", String.class);
+        ContextKey<String> second = ContextKey.of("test", "second-name", String.class);
+
+        assertThat(first).isNotEqualTo(second);
+    }
+
+    @Test
+    void conflictingToken() {
+        ContextKey.of("test", "conflicting", String.class);
+
+        assertThrows(IllegalArgumentException.class, () -> ContextKey.of("test", "conflicting", Integer.class));
+        assertThrows(IllegalArgumentException.class, () -> ContextKey.of("test", "conflicting", new TypeToken<List<String>>() {}));
+    }
+
+}
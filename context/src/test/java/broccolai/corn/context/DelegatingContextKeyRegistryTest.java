@@ -22,7 +22,11 @@
 
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class DelegatingContextKeyRegistryTest {
 
@@ -36,4 +40,97 @@ void registerSimple() {
         assertThat(registry).contains(key);
     }
 
+    @Test
+    void registerBulk() {
+        ContextKey<String> first = ContextKey.of("registry", "first", String.class);
+        ContextKey<Integer> second = ContextKey.of("registry", "second", Integer.class);
+
+        DelegatingContextKeyRegistry registry = new DelegatingContextKeyRegistry();
+        registry.register(List.of(first, second, first));
+
+        assertThat(registry).containsExactly(first, second).inOrder();
+        assertThat(registry.size()).isEqualTo(2);
+    }
+
+    @Test
+    void slotsPerRegistry() {
+        ContextKey<String> first = ContextKey.of("registry", "first", String.class);
+        ContextKey<Integer> second = ContextKey.of("registry", "second", Integer.class);
+
+        DelegatingContextKeyRegistry registry = new DelegatingContextKeyRegistry();
+        DelegatingContextKeyRegistry reversed = new DelegatingContextKeyRegistry();
+        registry.register(first, second);
+        reversed.register(second, first);
+
+        assertThat(registry.slot(first)).isEqualTo(0);
+        assertThat(registry.slot(second)).isEqualTo(1);
+        assertThat(reversed.slot(first)).isEqualTo(1);
+        assertThat(reversed.slot(second)).isEqualTo(0);
+        assertThat(new DelegatingContextKeyRegistry().slot(first)).isEqualTo(-1);
+    }
+
+    @Test
+    void manyRegistries() {
+        ContextKey<String> first = ContextKey.of("registries", "first", String.class);
+        ContextKey<Integer> second = ContextKey.of("registries", "second", Integer.class);
+
+        List<DelegatingContextKeyRegistry> registries = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            DelegatingContextKeyRegistry registry = new DelegatingContextKeyRegistry();
+            if (i % 2 == 0) {
+                registry.register(first, second);
+            } else {
+                registry.register(second, first);
+            }
+            registries.add(registry);
+        }
+
+        assertThat(((ContextKeyImpl<?>) first).bindings()).isAtMost(ContextKeyImpl.MAX_BINDINGS);
+        assertThat(((ContextKeyImpl<?>) second).bindings()).isAtMost(ContextKeyImpl.MAX_BINDINGS);
+        for (int i = 0; i < registries.size(); i++) {
+            assertThat(registries.get(i).slot(first)).isEqualTo(i % 2);
+            assertThat(registries.get(i).slot(second)).isEqualTo(1 - i % 2);
+        }
+    }
+
+    @Test
+    void lookupById() {
+        ContextKey<String> key = ContextKey.of("test", "key", String.class);
+
+        DelegatingContextKeyRegistry registry = new DelegatingContextKeyRegistry();
+        registry.register(key);
+
+        assertThat(registry.key("test:key")).hasValue(key);
+        assertThat(registry.key("test", "key")).hasValue(key);
+        assertThat(registry.key("test:missing")).isEmpty();
+        assertThat(registry.key("missing", "key")).isEmpty();
+    }
+
+    @Test
+    void lookupByNamespace() {
+        ContextKey<String> first = ContextKey.of("first-namespace", "key", String.class);
+        ContextKey<String> second = ContextKey.of("second-namespace", "key", String.class);
+        ContextKey<String> third = ContextKey.of("first-namespace", "other", String.class);
+
+        DelegatingContextKeyRegistry registry = new DelegatingContextKeyRegistry();
+        registry.register(first, second, third);
+
+        assertThat(registry.keys("first-namespace")).containsExactly(first, third).inOrder();
+        assertThat(registry.keys("missing")).isEmpty();
+    }
+
+    @Test
+    void frozen() {
+        ContextKey<String> key = ContextKey.of("test", "key", String.class);
+
+        DelegatingContextKeyRegistry registry = new DelegatingContextKeyRegistry();
+        registry.register(key);
+        registry.freeze();
+
+        assertThat(registry.frozen()).isTrue();
+        assertThat(registry.key("test:key")).hasValue(key);
+        assertThat(registry.keys("test")).containsExactly(key);
+        assertThrows(IllegalStateException.class, () -> registry.register(ContextKey.of("test", "late", String.class)));
+    }
+
 }
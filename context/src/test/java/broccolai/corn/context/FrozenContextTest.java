@@ -0,0 +1,84 @@
+/*
+ * This file is part of corn, licensed under the GNU Lesser General Public License (LGPL) version 3 license.
+ *
+ * Copyright (C)  2020-2023 broccolai
+ * Copyright (C)  2020-2023 Contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package broccolai.corn.context;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FrozenContextTest {
+
+    private static final ContextKey<String> STRING = ContextKey.of("test", "string", String.class);
+    private static final ContextKey<Integer> INT = ContextKey.of("test", "int", Integer.class);
+
+    @Test
+    void containsEntries() {
+        Context context = new MappedContext();
+        Map<ContextKey<?>, Object> expected = new HashMap<>();
+
+        for (int i = 0; i < 100; i++) {
+            ContextKey<Integer> key = ContextKey.of("frozen", "key-" + i, Integer.class);
+            context.put(key, i);
+            expected.put(key, i);
+        }
+
+        Context frozen = context.freeze();
+        Map<ContextKey<?>, Object> entries = new HashMap<>();
+        frozen.forEach(entries::put);
+
+        assertThat(entries).containsExactlyEntriesIn(expected);
+        expected.forEach((key, value) -> assertThat(frozen.getOrNull(key)).isEqualTo(value));
+        assertThat(frozen.get(STRING)).isEmpty();
+    }
+
+    @Test
+    void empty() {
+        Context frozen = new MappedContext().freeze();
+
+        assertThat(frozen.get(STRING)).isEmpty();
+    }
+
+    @Test
+    void isSnapshot() {
+        Context context = new MappedContext();
+        context.put(INT, 1);
+
+        Context frozen = context.freeze();
+        context.put(INT, 2);
+        context.put(STRING, "value");
+
+        assertThat(frozen.getInt(INT, -1)).isEqualTo(1);
+        assertThat(frozen.get(STRING)).isEmpty();
+    }
+
+    @Test
+    void immutable() {
+        Context frozen = new MappedContext().freeze();
+
+        assertThrows(UnsupportedOperationException.class, () -> frozen.put(STRING, "value"));
+        assertThat(frozen.freeze()).isSameInstanceAs(frozen);
+    }
+
+}
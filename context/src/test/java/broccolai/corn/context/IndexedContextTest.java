@@ -0,0 +1,111 @@
+/*
+ * This file is part of corn, licensed under the GNU Lesser General Public License (LGPL) version 3 license.
+ *
+ * Copyright (C)  2020-2023 broccolai
+ * Copyright (C)  2020-2023 Contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package broccolai.corn.context;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.google.common.truth.Truth.assertThat;
+
+class IndexedContextTest {
+
+    private static final ContextKey<String> REGISTERED = ContextKey.of("test", "registered", String.class);
+    private static final ContextKey<Integer> UNREGISTERED = ContextKey.of("test", "unregistered", Integer.class);
+
+    @Test
+    void registeredKey() {
+        DelegatingContextKeyRegistry registry = new DelegatingContextKeyRegistry();
+        registry.register(REGISTERED);
+
+        Context context = new IndexedContext(registry);
+        context.put(REGISTERED, "value");
+
+        assertThat(context.get(REGISTERED)).hasValue("value");
+    }
+
+    @Test
+    void equalKeyInstance() {
+        DelegatingContextKeyRegistry registry = new DelegatingContextKeyRegistry();
+        registry.register(REGISTERED);
+
+        Context context = new IndexedContext(registry);
+        context.put(REGISTERED, "value");
+
+        assertThat(context.get(ContextKey.of("test", "registered", String.class))).hasValue("value");
+    }
+
+    @Test
+    void unregisteredKey() {
+        Context context = new IndexedContext(new DelegatingContextKeyRegistry());
+
+        assertThat(context.get(UNREGISTERED)).isEmpty();
+        context.put(UNREGISTERED, 5);
+        assertThat(context.get(UNREGISTERED)).hasValue(5);
+    }
+
+    @Test
+    void registeredAfterCreation() {
+        DelegatingContextKeyRegistry registry = new DelegatingContextKeyRegistry();
+        Context context = new IndexedContext(registry);
+
+        registry.register(REGISTERED);
+        assertThat(context.get(REGISTERED)).isEmpty();
+
+        context.put(REGISTERED, "late");
+        assertThat(context.get(REGISTERED)).hasValue("late");
+    }
+
+    @Test
+    void registeredAfterPut() {
+        ContextKey<String> key = ContextKey.of("test", "registered-after-put", String.class);
+        DelegatingContextKeyRegistry registry = new DelegatingContextKeyRegistry();
+        Context context = new IndexedContext(registry);
+
+        context.put(key, "early");
+        registry.register(key);
+        assertThat(context.get(key)).hasValue("early");
+
+        context.put(key, "late");
+        Map<ContextKey<?>, Object> entries = new HashMap<>();
+        context.forEach(entries::put);
+
+        assertThat(context.get(key)).hasValue("late");
+        assertThat(entries).containsExactly(key, "late");
+    }
+
+    @Test
+    void forEachVisitsAllEntries() {
+        DelegatingContextKeyRegistry registry = new DelegatingContextKeyRegistry();
+        registry.register(REGISTERED);
+
+        Context context = new IndexedContext(registry);
+        context.put(REGISTERED, "value");
+        context.put(UNREGISTERED, 5);
+
+        Map<ContextKey<?>, Object> entries = new HashMap<>();
+        context.forEach(entries::put);
+
+        assertThat(entries).containsExactly(REGISTERED, "value", UNREGISTERED, 5);
+    }
+
+}
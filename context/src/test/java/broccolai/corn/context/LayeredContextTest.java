@@ -0,0 +1,90 @@
+/*
+ * This file is part of corn, licensed under the GNU Lesser General Public License (LGPL) version 3 license.
+ *
+ * Copyright (C)  2020-2023 broccolai
+ * Copyright (C)  2020-2023 Contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package broccolai.corn.context;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.google.common.truth.Truth.assertThat;
+
+class LayeredContextTest {
+
+    private static final ContextKey<String> FIRST = ContextKey.of("test", "first", String.class);
+    private static final ContextKey<String> SECOND = ContextKey.of("test", "second", String.class);
+
+    @Test
+    void readsFallThrough() {
+        Context parent = new MappedContext();
+        parent.put(FIRST, "parent");
+
+        Context child = Context.child(Context.child(parent));
+
+        assertThat(child.get(FIRST)).hasValue("parent");
+        assertThat(child.get(SECOND)).isEmpty();
+    }
+
+    @Test
+    void writesStayLocal() {
+        Context parent = new MappedContext();
+        parent.put(FIRST, "parent");
+
+        Context child = Context.child(parent);
+        child.put(FIRST, "child");
+        child.put(SECOND, "child");
+
+        assertThat(child.get(FIRST)).hasValue("child");
+        assertThat(parent.get(FIRST)).hasValue("parent");
+        assertThat(parent.get(SECOND)).isEmpty();
+    }
+
+    @Test
+    void forEachShadowsParent() {
+        Context parent = new MappedContext();
+        parent.put(FIRST, "parent");
+        parent.put(SECOND, "parent");
+
+        Context child = Context.child(parent);
+        child.put(FIRST, "child");
+
+        Map<ContextKey<?>, Object> entries = new HashMap<>();
+        child.forEach((key, value) -> assertThat(entries.put(key, value)).isNull());
+
+        assertThat(entries).containsExactly(FIRST, "child", SECOND, "parent");
+    }
+
+    @Test
+    void flattensDeepChains() {
+        Context context = new MappedContext();
+        context.put(FIRST, "root");
+
+        for (int i = 0; i < 10; i++) {
+            context = Context.child(context, 4);
+            context.put(SECOND, "layer-" + i);
+        }
+
+        assertThat(((LayeredContext) context).depth()).isAtMost(4);
+        assertThat(context.get(FIRST)).hasValue("root");
+        assertThat(context.get(SECOND)).hasValue("layer-9");
+    }
+
+}
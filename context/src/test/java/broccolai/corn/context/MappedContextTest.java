@@ -0,0 +1,68 @@
+/*
+ * This file is part of corn, licensed under the GNU Lesser General Public License (LGPL) version 3 license.
+ *
+ * Copyright (C)  2020-2023 broccolai
+ * Copyright (C)  2020-2023 Contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package broccolai.corn.context;
+
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+class MappedContextTest {
+
+    private static final ContextKey<String> STRING = ContextKey.of("test", "string", String.class);
+    private static final ContextKey<Integer> INT = ContextKey.of("test", "int", Integer.class);
+    private static final ContextKey<Long> LONG = ContextKey.of("test", "long", Long.class);
+    private static final ContextKey<Boolean> BOOLEAN = ContextKey.of("test", "boolean", Boolean.class);
+
+    @Test
+    void getOrNull() {
+        Context context = new MappedContext();
+        assertThat(context.getOrNull(STRING)).isNull();
+
+        context.put(STRING, "value");
+        assertThat(context.getOrNull(STRING)).isEqualTo("value");
+    }
+
+    @Test
+    void getOrDefault() {
+        Context context = new MappedContext();
+        assertThat(context.getOrDefault(STRING, "fallback")).isEqualTo("fallback");
+
+        context.put(STRING, "value");
+        assertThat(context.getOrDefault(STRING, "fallback")).isEqualTo("value");
+    }
+
+    @Test
+    void primitiveAccessors() {
+        Context context = new MappedContext();
+        assertThat(context.getInt(INT, -1)).isEqualTo(-1);
+        assertThat(context.getLong(LONG, -1L)).isEqualTo(-1L);
+        assertThat(context.getBoolean(BOOLEAN, false)).isFalse();
+
+        context.put(INT, 5);
+        context.put(LONG, 10L);
+        context.put(BOOLEAN, true);
+
+        assertThat(context.getInt(INT, -1)).isEqualTo(5);
+        assertThat(context.getLong(LONG, -1L)).isEqualTo(10L);
+        assertThat(context.getBoolean(BOOLEAN, false)).isTrue();
+    }
+
+}
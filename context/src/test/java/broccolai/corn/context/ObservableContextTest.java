@@ -0,0 +1,163 @@
+/*
+ * This file is part of corn, licensed under the GNU Lesser General Public License (LGPL) version 3 license.
+ *
+ * Copyright (C)  2020-2023 broccolai
+ * Copyright (C)  2020-2023 Contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package broccolai.corn.context;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.google.common.truth.Truth.assertThat;
+
+class ObservableContextTest {
+
+    private static final ContextKey<Integer> FIRST = ContextKey.of("observable", "first", Integer.class);
+    private static final ContextKey<Integer> SECOND = ContextKey.of("observable", "second", Integer.class);
+    private static final ContextKey<String> OTHER = ContextKey.of("observable-other", "key", String.class);
+
+    @Test
+    void notifiesKeySubscribers() {
+        ObservableContext context = new ObservableContext(new MappedContext());
+        List<Map<ContextKey<?>, Object>> events = new ArrayList<>();
+        context.subscribe(FIRST, events::add);
+
+        context.put(FIRST, 1);
+        context.put(SECOND, 2);
+
+        assertThat(events).containsExactly(Map.of(FIRST, 1));
+    }
+
+    @Test
+    void notifiesNamespaceSubscribers() {
+        ObservableContext context = new ObservableContext(new MappedContext());
+        List<Map<ContextKey<?>, Object>> events = new ArrayList<>();
+        context.subscribe("observable", events::add);
+
+        context.batch(() -> {
+            context.put(FIRST, 1);
+            context.put(SECOND, 2);
+            context.put(OTHER, "ignored");
+        });
+
+        assertThat(events).containsExactly(Map.of(FIRST, 1, SECOND, 2));
+    }
+
+    @Test
+    void notifiesInSubscriptionOrder() {
+        ObservableContext context = new ObservableContext(new MappedContext());
+        List<String> order = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            String name = "listener-" + i;
+            if (i % 2 == 0) {
+                context.subscribe(SECOND, changes -> order.add(name));
+            } else {
+                context.subscribe("observable", changes -> order.add(name));
+            }
+        }
+
+        context.batch(() -> {
+            context.put(FIRST, 1);
+            context.put(SECOND, 2);
+        });
+
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            expected.add("listener-" + i);
+        }
+        assertThat(order).containsExactlyElementsIn(expected).inOrder();
+    }
+
+    @Test
+    void coalescesBatches() {
+        ObservableContext context = new ObservableContext(new MappedContext());
+        List<Map<ContextKey<?>, Object>> events = new ArrayList<>();
+        context.subscribe(FIRST, events::add);
+
+        context.batch(() -> {
+            context.put(FIRST, 1);
+            context.batch(() -> context.put(FIRST, 2));
+            context.put(FIRST, 3);
+        });
+
+        assertThat(events).containsExactly(Map.of(FIRST, 3));
+    }
+
+    @Test
+    void ignoresUnchangedValues() {
+        ObservableContext context = new ObservableContext(new MappedContext());
+        context.put(FIRST, 1);
+
+        List<Map<ContextKey<?>, Object>> events = new ArrayList<>();
+        context.subscribe(FIRST, events::add);
+
+        context.put(FIRST, 1);
+        context.batch(() -> {
+            context.put(FIRST, 2);
+            context.put(FIRST, 1);
+        });
+
+        assertThat(events).isEmpty();
+    }
+
+    @Test
+    void dispatchesToExecutor() {
+        List<Runnable> tasks = new ArrayList<>();
+        ObservableContext context = new ObservableContext(new MappedContext(), tasks::add);
+        List<Map<ContextKey<?>, Object>> events = new ArrayList<>();
+        context.subscribe(FIRST, events::add);
+
+        context.put(FIRST, 1);
+        assertThat(events).isEmpty();
+
+        tasks.forEach(Runnable::run);
+        assertThat(events).containsExactly(Map.of(FIRST, 1));
+    }
+
+    @Test
+    void unsubscribe() {
+        ObservableContext context = new ObservableContext(new MappedContext());
+        List<Map<ContextKey<?>, Object>> events = new ArrayList<>();
+        ContextListener listener = events::add;
+        context.subscribe(FIRST, listener);
+        context.unsubscribe(listener);
+
+        context.put(FIRST, 1);
+
+        assertThat(events).isEmpty();
+    }
+
+    @Test
+    void storesUnobservedWrites() {
+        ObservableContext context = new ObservableContext(new MappedContext());
+        List<Map<ContextKey<?>, Object>> events = new ArrayList<>();
+        context.subscribe(FIRST, events::add);
+
+        context.put(SECOND, 2);
+        context.put(OTHER, "value");
+        context.put(FIRST, 1);
+
+        assertThat(context.getOrNull(SECOND)).isEqualTo(2);
+        assertThat(context.getOrNull(OTHER)).isEqualTo("value");
+        assertThat(events).containsExactly(Map.of(FIRST, 1));
+    }
+
+}
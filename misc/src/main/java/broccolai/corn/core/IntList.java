@@ -0,0 +1,208 @@
+/*
+ * This file is part of corn, licensed under the GNU Lesser General Public License (LGPL) version 3 license.
+ *
+ * Copyright (C)  2020-2023 broccolai
+ * Copyright (C)  2020-2023 Contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package broccolai.corn.core;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A growable list of ints, backed by an int array so elements are never boxed.
+ */
+public final class IntList {
+
+    private static final int DEFAULT_CAPACITY = 10;
+
+    private int[] elements;
+    private int size;
+
+    /**
+     * Create an empty list with the default capacity
+     */
+    public IntList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create an empty list with an initial capacity
+     *
+     * @param capacity Amount of elements to allocate space for
+     * @throws IllegalArgumentException if the capacity is negative
+     */
+    public IntList(final int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative: " + capacity);
+        }
+
+        this.elements = new int[capacity];
+    }
+
+    /**
+     * Create a list containing the given elements
+     *
+     * @param elements Elements to contain
+     * @return Created list
+     */
+    public static @NonNull IntList of(final int @NonNull ... elements) {
+        final IntList list = new IntList(elements.length);
+        System.arraycopy(elements, 0, list.elements, 0, elements.length);
+        list.size = elements.length;
+        return list;
+    }
+
+    /**
+     * Append an element to the end of the list
+     *
+     * @param element Element to append
+     */
+    public void add(final int element) {
+        if (this.size == this.elements.length) {
+            this.elements = Arrays.copyOf(this.elements, Math.max(DEFAULT_CAPACITY, this.size + (this.size >> 1)));
+        }
+
+        this.elements[this.size++] = element;
+    }
+
+    /**
+     * Get the element at an index
+     *
+     * @param index Index of the element
+     * @return Element at the index
+     * @throws IndexOutOfBoundsException if the index is outside of the list
+     */
+    public int get(final int index) {
+        return this.elements[checkIndex(index, this.size)];
+    }
+
+    /**
+     * Replace the element at an index
+     *
+     * @param index   Index of the element
+     * @param element Element to store
+     * @return Element previously at the index
+     * @throws IndexOutOfBoundsException if the index is outside of the list
+     */
+    public int set(final int index, final int element) {
+        final int previous = this.elements[checkIndex(index, this.size)];
+        this.elements[index] = element;
+        return previous;
+    }
+
+    /**
+     * Get the amount of elements in the list
+     *
+     * @return Amount of elements
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Check if the list has no elements
+     *
+     * @return true if the list is empty
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Remove all elements, keeping the allocated capacity for reuse
+     */
+    public void clear() {
+        this.size = 0;
+    }
+
+    /**
+     * Compute the sum of all elements
+     *
+     * @return Sum of the elements
+     */
+    public long sum() {
+        long sum = 0;
+
+        for (int i = 0; i < this.size; i++) {
+            sum += this.elements[i];
+        }
+
+        return sum;
+    }
+
+    /**
+     * Perform an action for every element in order
+     *
+     * @param action Action to perform
+     */
+    public void forEach(final @NonNull IntConsumer action) {
+        for (int i = 0; i < this.size; i++) {
+            action.accept(this.elements[i]);
+        }
+    }
+
+    /**
+     * Copy the elements into a new array
+     *
+     * @return Array of the elements
+     */
+    public int @NonNull [] toArray() {
+        return Arrays.copyOf(this.elements, this.size);
+    }
+
+    private static int checkIndex(final int index, final int size) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+
+        return index;
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object obj) {
+        if (obj == this) {
+            return true;
+        }
+
+        if (!(obj instanceof IntList that)) {
+            return false;
+        }
+
+        return Arrays.equals(this.elements, 0, this.size, that.elements, 0, that.size);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+
+        for (int i = 0; i < this.size; i++) {
+            hash = 31 * hash + Integer.hashCode(this.elements[i]);
+        }
+
+        return hash;
+    }
+
+    @Override
+    public @NonNull String toString() {
+        return Arrays.toString(this.toArray());
+    }
+
+}
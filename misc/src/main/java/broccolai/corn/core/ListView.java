@@ -0,0 +1,126 @@
+/*
+ * This file is part of corn, licensed under the GNU Lesser General Public License (LGPL) version 3 license.
+ *
+ * Copyright (C)  2020-2023 broccolai
+ * Copyright (C)  2020-2023 Contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package broccolai.corn.core;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collector;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A lazy view over a list, created through {@link Lists#view(Iterable)}.
+ * <p>
+ * Intermediate operations only compose functions, the input is read once a terminal operation is called, passing every
+ * element through all stages in a single loop without any intermediate collections. Functions should not have side
+ * effects, as they are only applied to the elements a terminal operation needs, in the order it needs them.
+ *
+ * @param <T> Type of the views elements
+ */
+public interface ListView<@Nullable T> extends Iterable<T> {
+
+    /**
+     * Map the elements of the view using a given function
+     *
+     * @param function Function to be applied to all elements
+     * @param <R>      New type of the views elements
+     * @return View of the mapped elements
+     */
+    <@Nullable R> @NonNull ListView<R> map(@NonNull Function<? super T, ? extends R> function);
+
+    /**
+     * Filter the elements of the view using a given predicate
+     *
+     * @param predicate Predicate elements have to match to be kept
+     * @return View of the matching elements
+     */
+    @NonNull ListView<T> filter(@NonNull Predicate<? super T> predicate);
+
+    /**
+     * Collect the elements of the view into a new list
+     *
+     * @return List of the elements
+     */
+    @NonNull List<T> toList();
+
+    /**
+     * Group the elements of the view by a given function
+     *
+     * @param function Function to group the elements by
+     * @param <R>      Type to be grouped by
+     * @return Map of R as the keys and the elements as the values
+     */
+    <@Nullable R> @NonNull Map<R, @NonNull List<T>> groupBy(@NonNull Function<? super T, ? extends R> function);
+
+    /**
+     * Group the elements of the view by a given function, reducing the elements of every group with a downstream collector
+     *
+     * @param function   Function to group the elements by
+     * @param downstream Collector reducing the elements of each group
+     * @param <R>        Type to be grouped by
+     * @param <A>        Intermediate accumulation type of the collector
+     * @param <D>        Result type of the collector
+     * @return Map of R as the keys and the reduced elements of each group as the values
+     */
+    <@Nullable R, A, D> @NonNull Map<R, D> groupBy(
+            @NonNull Function<? super T, ? extends R> function,
+            @NonNull Collector<? super T, A, D> downstream
+    );
+
+    /**
+     * Perform an action for every element of the view
+     *
+     * @param action Action to perform
+     */
+    @Override
+    void forEach(@NonNull Consumer<? super T> action);
+
+    /**
+     * Count the elements of the view
+     *
+     * @return Amount of elements
+     */
+    int count();
+
+    /**
+     * Find the first element of the view, stopping at the first element that passes all stages
+     *
+     * @return the found value
+     * @throws IllegalArgumentException if the view has no elements
+     */
+    T first();
+
+    /**
+     * Find the last element of the view.
+     * <p>
+     * Inputs that are {@link java.util.RandomAccess} lists are read backwards, stopping at the last element
+     * that passes all stages, other inputs are read completely.
+     *
+     * @return the found value
+     * @throws IllegalArgumentException if the view has no elements
+     */
+    T last();
+
+}
@@ -0,0 +1,202 @@
+/*
+ * This file is part of corn, licensed under the GNU Lesser General Public License (LGPL) version 3 license.
+ *
+ * Copyright (C)  2020-2023 broccolai
+ * Copyright (C)  2020-2023 Contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package broccolai.corn.core;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collector;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+final class ListViewImpl<@Nullable S, @Nullable T> implements ListView<T> {
+
+    // returned by the pipeline for elements that were filtered out
+    private static final Object SKIP = new Object();
+
+    private final @NonNull Iterable<S> input;
+    private final @NonNull Function<S, Object> pipeline;
+
+    private ListViewImpl(final @NonNull Iterable<S> input, final @NonNull Function<S, Object> pipeline) {
+        this.input = input;
+        this.pipeline = pipeline;
+    }
+
+    static <@Nullable T> @NonNull ListView<T> of(final @NonNull Iterable<T> input) {
+        return new ListViewImpl<T, T>(input, value -> value);
+    }
+
+    @Override
+    public <@Nullable R> @NonNull ListView<R> map(final @NonNull Function<? super T, ? extends R> function) {
+        final Function<S, Object> pipeline = this.pipeline;
+
+        return new ListViewImpl<S, R>(this.input, value -> {
+            final Object current = pipeline.apply(value);
+            return current == SKIP ? SKIP : function.apply(cast(current));
+        });
+    }
+
+    @Override
+    public @NonNull ListView<T> filter(final @NonNull Predicate<? super T> predicate) {
+        final Function<S, Object> pipeline = this.pipeline;
+
+        return new ListViewImpl<S, T>(this.input, value -> {
+            final Object current = pipeline.apply(value);
+            return current == SKIP || !predicate.test(cast(current)) ? SKIP : current;
+        });
+    }
+
+    @Override
+    public @NonNull List<T> toList() {
+        final List<T> output = new ArrayList<>();
+        this.forEach(output::add);
+        return output;
+    }
+
+    @Override
+    public <@Nullable R> @NonNull Map<R, @NonNull List<T>> groupBy(final @NonNull Function<? super T, ? extends R> function) {
+        final Map<R, List<T>> output = new HashMap<>();
+        final Function<R, List<T>> newGroup = type -> new ArrayList<>();
+
+        this.forEach(value -> output.computeIfAbsent(function.apply(value), newGroup).add(value));
+
+        return output;
+    }
+
+    @Override
+    public <@Nullable R, A, D> @NonNull Map<R, D> groupBy(
+            final @NonNull Function<? super T, ? extends R> function,
+            final @NonNull Collector<? super T, A, D> downstream
+    ) {
+        return Lists.group(this, function::apply, downstream);
+    }
+
+    @Override
+    public void forEach(final @NonNull Consumer<? super T> action) {
+        for (final S value : this.input) {
+            final Object current = this.pipeline.apply(value);
+
+            if (current != SKIP) {
+                action.accept(cast(current));
+            }
+        }
+    }
+
+    @Override
+    public int count() {
+        int count = 0;
+
+        for (final S value : this.input) {
+            if (this.pipeline.apply(value) != SKIP) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    @Override
+    public T first() {
+        for (final S value : this.input) {
+            final Object current = this.pipeline.apply(value);
+
+            if (current != SKIP) {
+                return cast(current);
+            }
+        }
+
+        throw new IllegalArgumentException();
+    }
+
+    @Override
+    public T last() {
+        if (this.input instanceof List<S> list && this.input instanceof RandomAccess) {
+            for (int i = list.size() - 1; i >= 0; i--) {
+                final Object current = this.pipeline.apply(list.get(i));
+
+                if (current != SKIP) {
+                    return cast(current);
+                }
+            }
+
+            throw new IllegalArgumentException();
+        }
+
+        Object last = SKIP;
+
+        for (final S value : this.input) {
+            final Object current = this.pipeline.apply(value);
+
+            if (current != SKIP) {
+                last = current;
+            }
+        }
+
+        if (last == SKIP) {
+            throw new IllegalArgumentException();
+        }
+
+        return cast(last);
+    }
+
+    @Override
+    public @NonNull Iterator<T> iterator() {
+        final Iterator<S> iterator = this.input.iterator();
+
+        return new Iterator<>() {
+            private Object next = SKIP;
+
+            @Override
+            public boolean hasNext() {
+                while (this.next == SKIP && iterator.hasNext()) {
+                    this.next = ListViewImpl.this.pipeline.apply(iterator.next());
+                }
+
+                return this.next != SKIP;
+            }
+
+            @Override
+            public T next() {
+                if (!this.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                final Object next = this.next;
+                this.next = SKIP;
+                return cast(next);
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <@Nullable T> T cast(final @Nullable Object value) {
+        return (T) value;
+    }
+
+}
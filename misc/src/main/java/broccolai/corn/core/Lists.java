@@ -21,22 +21,38 @@
 package broccolai.corn.core;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 public final class Lists {
 
+    private static final int DEFAULT_PARALLEL_THRESHOLD = 8192;
+    // group maps are presized for at most this many groups, as groups are usually far fewer than elements
+    private static final int MAXIMUM_PRESIZED_GROUPS = 64;
+
     private Lists() {
     }
 
     /**
-     * Group a list by a given function
+     * Group a list by a given function.
+     * <p>
+     * If the input is a {@link Collection}, the map is presized from its size, for at most 64 groups.
      *
      * @param <R>      Type to be grouped by
      * @param <T>      Type of the lists elements
@@ -48,19 +64,56 @@ private Lists() {
             final @NonNull Iterable<T> input,
             final @NonNull Function<T, R> function
     ) {
-        final Map<R, List<T>> output = new HashMap<>();
+        final Map<R, List<T>> output = groupMap(input);
+        final Function<R, List<T>> newGroup = type -> new ArrayList<>();
 
         for (final T value : input) {
-            final R type = function.apply(value);
-            output.putIfAbsent(type, new ArrayList<>());
+            output.computeIfAbsent(function.apply(value), newGroup).add(value);
+        }
 
-            final List<T> current = output.get(type);
-            current.add(value);
+        return output;
+    }
 
-            output.put(type, current);
+    /**
+     * Group a list by a given function, reducing the values of every group with a downstream collector
+     * instead of collecting them into lists.
+     * <p>
+     * Collectors such as {@link java.util.stream.Collectors#counting()} or {@link java.util.stream.Collectors#toSet()}
+     * aggregate while grouping, without materialising a list per group.
+     *
+     * @param <R>        Type to be grouped by
+     * @param <T>        Type of the lists elements
+     * @param <A>        Intermediate accumulation type of the collector
+     * @param <D>        Result type of the collector
+     * @param input      List to be grouped
+     * @param function   Function to group the result by
+     * @param downstream Collector reducing the values of each group
+     * @return Map of R as the keys and the reduced values of each group as the values
+     */
+    @SuppressWarnings("unchecked")
+    public static <@Nullable T, @Nullable R, A, D> @NonNull Map<R, D> group(
+            final @NonNull Iterable<T> input,
+            final @NonNull Function<T, R> function,
+            final @NonNull Collector<? super T, A, D> downstream
+    ) {
+        final Supplier<A> supplier = downstream.supplier();
+        final BiConsumer<A, ? super T> accumulator = downstream.accumulator();
+        final Map<R, A> output = groupMap(input);
+        final Function<R, A> newGroup = type -> supplier.get();
+
+        for (final T value : input) {
+            accumulator.accept(output.computeIfAbsent(function.apply(value), newGroup), value);
         }
 
-        return output;
+        if (downstream.characteristics().contains(Collector.Characteristics.IDENTITY_FINISH)) {
+            return (Map<R, D>) output;
+        }
+
+        final Function<A, D> finisher = downstream.finisher();
+        final Map<R, Object> finished = (Map<R, Object>) output;
+        finished.replaceAll((type, container) -> finisher.apply((A) container));
+
+        return (Map<R, D>) finished;
     }
 
     /**
@@ -76,7 +129,36 @@ private Lists() {
             final @NonNull Iterable<T> input,
             final @NonNull Function<T, R> function
     ) {
-        final List<R> output = new ArrayList<>();
+        final List<R> output = input instanceof Collection<?> collection ? new ArrayList<>(collection.size()) : new ArrayList<>();
+        return map(input, function, output);
+    }
+
+    /**
+     * Map a list using a given function, appending the mapped elements to an existing list.
+     * <p>
+     * Reusing a cleared output list across calls avoids allocating a new list every time.
+     *
+     * @param input    the list to be mapped
+     * @param function the function to be applied to all elements
+     * @param output   the list to append the mapped elements to
+     * @param <R>      new type of the lists elements
+     * @param <T>      current type of the lists elements
+     * @return the output list
+     */
+    public static <@Nullable R, @Nullable T> @NonNull List<R> map(
+            final @NonNull Iterable<T> input,
+            final @NonNull Function<T, R> function,
+            final @NonNull List<R> output
+    ) {
+        if (input instanceof List<T> list && input instanceof RandomAccess) {
+            final int size = list.size();
+
+            for (int i = 0; i < size; i++) {
+                output.add(function.apply(list.get(i)));
+            }
+
+            return output;
+        }
 
         for (final T value : input) {
             output.add(function.apply(value));
@@ -85,6 +167,257 @@ private Lists() {
         return output;
     }
 
+    /**
+     * Map a list using a given function, writing the mapped elements into an existing array starting at index zero.
+     * <p>
+     * Reusing the output array across calls maps without allocating, elements past the returned amount are left untouched.
+     *
+     * @param input    the list to be mapped
+     * @param function the function to be applied to all elements
+     * @param output   the array to write the mapped elements to
+     * @param <R>      new type of the lists elements
+     * @param <T>      current type of the lists elements
+     * @return the amount of elements written
+     * @throws IllegalArgumentException if the array is smaller than the list
+     */
+    public static <@Nullable R, @Nullable T> int map(
+            final @NonNull Iterable<T> input,
+            final @NonNull Function<T, R> function,
+            final @Nullable R @NonNull [] output
+    ) {
+        if (input instanceof Collection<?> collection && collection.size() > output.length) {
+            throw new IllegalArgumentException(
+                    "Output array of length " + output.length + " cannot hold " + collection.size() + " elements"
+            );
+        }
+
+        if (input instanceof List<T> list && input instanceof RandomAccess) {
+            final int size = list.size();
+
+            for (int i = 0; i < size; i++) {
+                output[i] = function.apply(list.get(i));
+            }
+
+            return size;
+        }
+
+        int index = 0;
+
+        for (final T value : input) {
+            if (index == output.length) {
+                throw new IllegalArgumentException("Output array of length " + output.length + " cannot hold all elements");
+            }
+
+            output[index++] = function.apply(value);
+        }
+
+        return index;
+    }
+
+    /**
+     * Map a list to ints using a given function, without boxing them.
+     *
+     * @param input    the list to be mapped
+     * @param function the function to be applied to all elements
+     * @param <T>      current type of the lists elements
+     * @return an int list with the mapped elements
+     */
+    public static <@Nullable T> @NonNull IntList mapToInt(
+            final @NonNull Iterable<T> input,
+            final @NonNull ToIntFunction<T> function
+    ) {
+        final IntList output = input instanceof Collection<?> collection ? new IntList(collection.size()) : new IntList();
+
+        for (final T value : input) {
+            output.add(function.applyAsInt(value));
+        }
+
+        return output;
+    }
+
+    /**
+     * Map a list to longs using a given function, without boxing them.
+     *
+     * @param input    the list to be mapped
+     * @param function the function to be applied to all elements
+     * @param <T>      current type of the lists elements
+     * @return a long list with the mapped elements
+     */
+    public static <@Nullable T> @NonNull LongList mapToLong(
+            final @NonNull Iterable<T> input,
+            final @NonNull ToLongFunction<T> function
+    ) {
+        final LongList output = input instanceof Collection<?> collection ? new LongList(collection.size()) : new LongList();
+
+        for (final T value : input) {
+            output.add(function.applyAsLong(value));
+        }
+
+        return output;
+    }
+
+    /**
+     * Count the elements of a list per group, counting in primitive ints so only the final count of every group is boxed.
+     *
+     * @param <R>      Type to be grouped by
+     * @param <T>      Type of the lists elements
+     * @param input    List to be grouped
+     * @param function Function to group the result by
+     * @return Map of R as the keys and the amount of elements in each group as the values
+     */
+    @SuppressWarnings("unchecked")
+    public static <@Nullable T, @Nullable R> @NonNull Map<R, Integer> groupToIntCounts(
+            final @NonNull Iterable<T> input,
+            final @NonNull Function<T, R> function
+    ) {
+        final Map<R, int[]> counts = groupMap(input);
+        final Function<R, int[]> newCount = type -> new int[1];
+
+        for (final T value : input) {
+            counts.computeIfAbsent(function.apply(value), newCount)[0]++;
+        }
+
+        final Map<R, Object> output = (Map<R, Object>) (Map<R, ?>) counts;
+        output.replaceAll((type, count) -> ((int[]) count)[0]);
+
+        return (Map<R, Integer>) (Map<R, ?>) output;
+    }
+
+    /**
+     * Sum a long value of the elements of a list per group, summing in primitive longs so only the final sum of every
+     * group is boxed.
+     *
+     * @param <R>      Type to be grouped by
+     * @param <T>      Type of the lists elements
+     * @param input    List to be grouped
+     * @param function Function to group the result by
+     * @param value    Function extracting the value to sum from every element
+     * @return Map of R as the keys and the sum of each group as the values
+     */
+    @SuppressWarnings("unchecked")
+    public static <@Nullable T, @Nullable R> @NonNull Map<R, Long> groupToLongSums(
+            final @NonNull Iterable<T> input,
+            final @NonNull Function<T, R> function,
+            final @NonNull ToLongFunction<T> value
+    ) {
+        final Map<R, long[]> sums = groupMap(input);
+        final Function<R, long[]> newSum = type -> new long[1];
+
+        for (final T element : input) {
+            sums.computeIfAbsent(function.apply(element), newSum)[0] += value.applyAsLong(element);
+        }
+
+        final Map<R, Object> output = (Map<R, Object>) (Map<R, ?>) sums;
+        output.replaceAll((type, sum) -> ((long[]) sum)[0]);
+
+        return (Map<R, Long>) (Map<R, ?>) output;
+    }
+
+    /**
+     * Map a list using a given function, splitting it into fork-join tasks on the common pool.
+     *
+     * @param input    the list to be mapped
+     * @param function the function to be applied to all elements, safe to call from multiple threads
+     * @param <R>      new type of the lists elements
+     * @param <T>      current type of the lists elements
+     * @return a list with the mapped elements, in the order of the input
+     */
+    public static <@Nullable R, @Nullable T> @NonNull List<R> parallelMap(
+            final @NonNull List<T> input,
+            final @NonNull Function<T, R> function
+    ) {
+        return parallelMap(input, function, ForkJoinPool.commonPool(), DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Map a list using a given function, splitting it into fork-join tasks of at most threshold elements.
+     * <p>
+     * Lists that are not {@link RandomAccess} or have no more elements than the threshold are mapped sequentially.
+     *
+     * @param input     the list to be mapped
+     * @param function  the function to be applied to all elements, safe to call from multiple threads
+     * @param pool      the pool to run the tasks on
+     * @param threshold the maximum amount of elements mapped by a single task
+     * @param <R>       new type of the lists elements
+     * @param <T>       current type of the lists elements
+     * @return a list with the mapped elements, in the order of the input
+     */
+    public static <@Nullable R, @Nullable T> @NonNull List<R> parallelMap(
+            final @NonNull List<T> input,
+            final @NonNull Function<T, R> function,
+            final @NonNull ForkJoinPool pool,
+            final int threshold
+    ) {
+        if (!(input instanceof RandomAccess) || input.size() <= threshold) {
+            return map(input, function);
+        }
+
+        final int size = input.size();
+        final List<R> output = new ArrayList<>(size);
+
+        // the tasks replace the placeholders in place, setting distinct indexes of an ArrayList is safe across threads
+        for (int i = 0; i < size; i++) {
+            output.add(null);
+        }
+
+        pool.invoke(new MapTask<>(input, function, output, 0, size, Math.max(1, threshold)));
+        return output;
+    }
+
+    /**
+     * Group a list by a given function, splitting it into fork-join tasks on the common pool.
+     *
+     * @param <R>      Type to be grouped by
+     * @param <T>      Type of the lists elements
+     * @param input    List to be grouped
+     * @param function Function to group the result by, safe to call from multiple threads
+     * @return Map of R as the keys and T as the values, in the order of the input
+     */
+    public static <@Nullable T, @Nullable R> @NonNull Map<R, @NonNull List<T>> parallelGroup(
+            final @NonNull List<T> input,
+            final @NonNull Function<T, R> function
+    ) {
+        return parallelGroup(input, function, ForkJoinPool.commonPool(), DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Group a list by a given function, splitting it into fork-join tasks of at most threshold elements.
+     * <p>
+     * Every task groups its own range, the groups of adjacent ranges are then appended in order.
+     * Lists that are not {@link RandomAccess} or have no more elements than the threshold are grouped sequentially.
+     *
+     * @param <R>       Type to be grouped by
+     * @param <T>       Type of the lists elements
+     * @param input     List to be grouped
+     * @param function  Function to group the result by, safe to call from multiple threads
+     * @param pool      Pool to run the tasks on
+     * @param threshold Maximum amount of elements grouped by a single task
+     * @return Map of R as the keys and T as the values, in the order of the input
+     */
+    public static <@Nullable T, @Nullable R> @NonNull Map<R, @NonNull List<T>> parallelGroup(
+            final @NonNull List<T> input,
+            final @NonNull Function<T, R> function,
+            final @NonNull ForkJoinPool pool,
+            final int threshold
+    ) {
+        if (!(input instanceof RandomAccess) || input.size() <= threshold) {
+            return group(input, function);
+        }
+
+        return pool.invoke(new GroupTask<>(input, function, 0, input.size(), Math.max(1, threshold)));
+    }
+
+    /**
+     * Create a lazy view of a list, fusing chained operations into a single loop once a terminal operation is called.
+     *
+     * @param input the list to view
+     * @param <T>   type of list elements
+     * @return a view of the list
+     */
+    public static <@Nullable T> @NonNull ListView<T> view(final @NonNull Iterable<T> input) {
+        return ListViewImpl.of(input);
+    }
+
     /**
      * Find the first element in a List, matching a predicate.
      *
@@ -130,4 +463,105 @@ private Lists() {
         throw new IllegalArgumentException();
     }
 
+    private static <K, V> @NonNull Map<K, V> groupMap(final @NonNull Iterable<?> input) {
+        if (!(input instanceof Collection<?> collection)) {
+            return new HashMap<>();
+        }
+
+        final int groups = Math.min(collection.size(), MAXIMUM_PRESIZED_GROUPS);
+        return new HashMap<>((int) (groups / 0.75f) + 1);
+    }
+
+    private static final class MapTask<T, R> extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<T> input;
+        private final Function<T, R> function;
+        private final List<R> output;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        MapTask(
+                final @NonNull List<T> input,
+                final @NonNull Function<T, R> function,
+                final @NonNull List<R> output,
+                final int from,
+                final int to,
+                final int threshold
+        ) {
+            this.input = input;
+            this.function = function;
+            this.output = output;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.to - this.from <= this.threshold) {
+                for (int i = this.from; i < this.to; i++) {
+                    this.output.set(i, this.function.apply(this.input.get(i)));
+                }
+                return;
+            }
+
+            final int middle = (this.from + this.to) >>> 1;
+            invokeAll(
+                    new MapTask<>(this.input, this.function, this.output, this.from, middle, this.threshold),
+                    new MapTask<>(this.input, this.function, this.output, middle, this.to, this.threshold)
+            );
+        }
+
+    }
+
+    private static final class GroupTask<T, R> extends RecursiveTask<Map<R, List<T>>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<T> input;
+        private final Function<T, R> function;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        GroupTask(
+                final @NonNull List<T> input,
+                final @NonNull Function<T, R> function,
+                final int from,
+                final int to,
+                final int threshold
+        ) {
+            this.input = input;
+            this.function = function;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected Map<R, List<T>> compute() {
+            if (this.to - this.from <= this.threshold) {
+                return group(this.input.subList(this.from, this.to), this.function);
+            }
+
+            final int middle = (this.from + this.to) >>> 1;
+            final GroupTask<T, R> right = new GroupTask<>(this.input, this.function, middle, this.to, this.threshold);
+            right.fork();
+
+            final Map<R, List<T>> output = new GroupTask<>(this.input, this.function, this.from, middle, this.threshold).compute();
+
+            // the left range comes first, so appending the right groups keeps the order of the input
+            right.join().forEach((type, values) -> output.merge(type, values, (current, appended) -> {
+                current.addAll(appended);
+                return current;
+            }));
+
+            return output;
+        }
+
+    }
+
 }
@@ -0,0 +1,56 @@
+/*
+ * This file is part of corn, licensed under the GNU Lesser General Public License (LGPL) version 3 license.
+ *
+ * Copyright (C)  2020-2023 broccolai
+ * Copyright (C)  2020-2023 Contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package broccolai.corn.core;
+
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+final class IntListTest {
+
+    @Test
+    void growth() {
+        IntList list = new IntList(1);
+
+        for (int i = 0; i < 100; i++) {
+            list.add(i);
+        }
+
+        assertThat(list.size()).isEqualTo(100);
+        assertThat(list.get(99)).isEqualTo(99);
+        assertThat(list.sum()).isEqualTo(4950L);
+    }
+
+    @Test
+    void setAndClear() {
+        IntList list = IntList.of(1, 2, 3);
+
+        assertThat(list.set(1, 5)).isEqualTo(2);
+        assertThat(list).isEqualTo(IntList.of(1, 5, 3));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(3));
+
+        list.clear();
+        assertThat(list.isEmpty()).isTrue();
+        assertThat(list.toArray().length).isEqualTo(0);
+    }
+
+}
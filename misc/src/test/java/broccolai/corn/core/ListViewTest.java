@@ -0,0 +1,110 @@
+/*
+ * This file is part of corn, licensed under the GNU Lesser General Public License (LGPL) version 3 license.
+ *
+ * Copyright (C)  2020-2023 broccolai
+ * Copyright (C)  2020-2023 Contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package broccolai.corn.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+final class ListViewTest {
+
+    private final List<String> input = Arrays.asList("1", "5", "22", "41", "8");
+
+    @Test
+    void mapAndFilter() {
+        List<Integer> output = Lists.view(this.input)
+                .map(Integer::parseInt)
+                .filter(value -> value > 4)
+                .toList();
+
+        assertThat(output).containsExactly(5, 22, 41, 8).inOrder();
+        assertThat(Lists.view(this.input).map(Integer::parseInt).filter(value -> value > 4).count()).isEqualTo(4);
+    }
+
+    @Test
+    void groupBy() {
+        Map<Boolean, List<Integer>> output = Lists.view(this.input)
+                .map(Integer::parseInt)
+                .groupBy(value -> value % 2 == 0);
+        Map<Boolean, Long> counts = Lists.view(this.input)
+                .map(Integer::parseInt)
+                .groupBy(value -> value % 2 == 0, Collectors.counting());
+
+        assertThat(output.get(true)).containsExactly(22, 8).inOrder();
+        assertThat(output.get(false)).containsExactly(1, 5, 41).inOrder();
+        assertThat(counts).containsExactly(true, 2L, false, 3L);
+    }
+
+    @Test
+    void lazy() {
+        AtomicInteger mapped = new AtomicInteger();
+        ListView<Integer> view = Lists.view(this.input).map(value -> {
+            mapped.incrementAndGet();
+            return Integer.parseInt(value);
+        });
+
+        assertThat(mapped.get()).isEqualTo(0);
+        assertThat(view.filter(value -> value > 10).first()).isEqualTo(22);
+        assertThat(mapped.get()).isEqualTo(3);
+    }
+
+    @Test
+    void last() {
+        AtomicInteger mapped = new AtomicInteger();
+        ListView<Integer> view = Lists.view(this.input).map(value -> {
+            mapped.incrementAndGet();
+            return Integer.parseInt(value);
+        });
+
+        assertThat(view.filter(value -> value > 10).last()).isEqualTo(41);
+        assertThat(mapped.get()).isEqualTo(2);
+        assertThat(Lists.view(new ArrayDeque<>(this.input)).filter(value -> value.length() == 1).last()).isEqualTo("8");
+    }
+
+    @Test
+    void empty() {
+        ListView<String> view = Lists.view(this.input).filter(String::isEmpty);
+
+        assertThat(view.toList()).isEmpty();
+        assertThrows(IllegalArgumentException.class, view::first);
+        assertThrows(IllegalArgumentException.class, view::last);
+    }
+
+    @Test
+    void iterator() {
+        StringBuilder output = new StringBuilder();
+
+        for (final String value : Lists.view(this.input).filter(value -> value.length() == 2)) {
+            output.append(value);
+        }
+
+        assertThat(output.toString()).isEqualTo("2241");
+    }
+
+}
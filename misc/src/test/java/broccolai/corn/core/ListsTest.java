@@ -22,10 +22,17 @@
 
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
 
 import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 final class ListsTest {
 
@@ -42,6 +49,23 @@ void testGroup() {
         assertThat(output.get(3)).containsExactly(p2);
     }
 
+    @Test
+    void testGroupDownstream() {
+        List<TestPair> input = Arrays.asList(
+                new TestPair(1, 'a'),
+                new TestPair(3, 'b'),
+                new TestPair(1, 'c'),
+                new TestPair(1, 'a')
+        );
+
+        Map<Integer, Long> counts = Lists.group(input, TestPair::key, Collectors.counting());
+        Map<Integer, Set<Character>> values = Lists.group(input, TestPair::key, Collectors.mapping(TestPair::value, Collectors.toSet()));
+
+        assertThat(counts).containsExactly(1, 3L, 3, 1L);
+        assertThat(values.get(1)).containsExactly('a', 'c');
+        assertThat(values.get(3)).containsExactly('b');
+    }
+
     @Test
     void testMap() {
         List<String> unparsed = Arrays.asList("1", "5", "22", "41");
@@ -50,6 +74,104 @@ void testMap() {
         assertThat(parsed).containsExactly(1, 5, 22, 41);
     }
 
+    @Test
+    void testMapIntoList() {
+        List<Integer> output = new ArrayList<>(List.of(0));
+
+        Lists.map(Arrays.asList("1", "5"), Integer::parseInt, output);
+        Lists.map(new ArrayDeque<>(List.of("22")), Integer::parseInt, output);
+
+        assertThat(output).containsExactly(0, 1, 5, 22).inOrder();
+    }
+
+    @Test
+    void testMapIntoArray() {
+        Integer[] output = new Integer[3];
+
+        assertThat(Lists.map(Arrays.asList("1", "5"), Integer::parseInt, output)).isEqualTo(2);
+        assertThat(Arrays.asList(output)).containsExactly(1, 5, null).inOrder();
+        assertThrows(IllegalArgumentException.class, () -> Lists.map(Arrays.asList("1", "2", "3", "4"), Integer::parseInt, output));
+    }
+
+    @Test
+    void testMapToInt() {
+        IntList output = Lists.mapToInt(Arrays.asList("1", "5", "22"), Integer::parseInt);
+        LongList longOutput = Lists.mapToLong(Arrays.asList("1", "5", "22"), Long::parseLong);
+
+        assertThat(output).isEqualTo(IntList.of(1, 5, 22));
+        assertThat(longOutput).isEqualTo(LongList.of(1, 5, 22));
+    }
+
+    @Test
+    void testGroupPrimitives() {
+        List<TestPair> input = Arrays.asList(
+                new TestPair(1, 'a'),
+                new TestPair(3, 'b'),
+                new TestPair(1, 'c')
+        );
+
+        assertThat(Lists.groupToIntCounts(input, TestPair::key)).containsExactly(1, 2, 3, 1);
+        assertThat(Lists.groupToLongSums(input, TestPair::key, TestPair::value)).containsExactly(1, (long) 'a' + 'c', 3, (long) 'b');
+    }
+
+    @Test
+    void testParallelMap() {
+        List<Integer> input = range(10_000);
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            List<String> output = Lists.parallelMap(input, String::valueOf, pool, 100);
+
+            assertThat(output).containsExactlyElementsIn(Lists.map(input, String::valueOf)).inOrder();
+
+            // like the sequential path, the result is a regular mutable list
+            output.add("extra");
+            assertThat(output).hasSize(input.size() + 1);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testParallelGroup() {
+        List<Integer> input = range(10_000);
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            Map<Integer, List<Integer>> output = Lists.parallelGroup(input, value -> value % 7, pool, 100);
+
+            assertThat(output.keySet()).hasSize(7);
+            // every group keeps the order of the input
+            output.forEach((key, values) -> assertThat(values)
+                    .containsExactlyElementsIn(Lists.group(input, value -> value % 7).get(key))
+                    .inOrder());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testParallelMatchesSequential() {
+        // larger than the default threshold, so the default overloads split the input
+        List<Integer> input = range(50_000);
+
+        assertThat(Lists.parallelMap(input, String::valueOf))
+                .containsExactlyElementsIn(Lists.map(input, String::valueOf))
+                .inOrder();
+        assertThat(Lists.parallelGroup(input, value -> value % 13))
+                .isEqualTo(Lists.group(input, value -> value % 13));
+    }
+
+    private static List<Integer> range(final int size) {
+        List<Integer> values = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            values.add(i);
+        }
+
+        return values;
+    }
+
     record TestPair(int key, char value) {
 
     }
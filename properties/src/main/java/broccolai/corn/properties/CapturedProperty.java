@@ -0,0 +1,179 @@
+/*
+ * This file is part of corn, licensed under the GNU Lesser General Public License (LGPL) version 3 license.
+ *
+ * Copyright (C)  2020-2023 broccolai
+ * Copyright (C)  2020-2023 Contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package broccolai.corn.properties;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The state of a {@link FlattenableProperty} captured when a snapshot is created, holding the snapshots of
+ * the nested holders without building any flattened paths yet.
+ * <p>
+ * Captured properties are compared structurally, by their children snapshots rather than their flattened paths.
+ */
+final class CapturedProperty implements FingerprintedProperty {
+
+    private static final PropertySnapshot[] NO_CHILDREN = new PropertySnapshot[0];
+
+    private final @NonNull String name;
+    // keys of map children, or null when children are labelled by their index, or unlabelled if there is a single nested child
+    private final @NonNull String @Nullable [] keys;
+    private final @NonNull PropertySnapshot @NonNull [] children;
+    private final boolean indexed;
+    // flattened properties of a foreign FlattenableProperty implementation
+    private final @Nullable Map<String, Property> flattened;
+
+    private CapturedProperty(
+            final @NonNull String name,
+            final @NonNull String @Nullable [] keys,
+            final @NonNull PropertySnapshot @NonNull [] children,
+            final boolean indexed,
+            final @Nullable Map<String, Property> flattened
+    ) {
+        this.name = name;
+        this.keys = keys;
+        this.children = children;
+        this.indexed = indexed;
+        this.flattened = flattened;
+    }
+
+    static @NonNull CapturedProperty nested(final @NonNull String name, final @Nullable PropertyHolder propertyHolder) {
+        if (propertyHolder == null) {
+            return new CapturedProperty(name, null, NO_CHILDREN, false, null);
+        }
+
+        return new CapturedProperty(name, null, new PropertySnapshot[]{propertyHolder.properties()}, false, null);
+    }
+
+    static @NonNull CapturedProperty indexed(final @NonNull String name, final @NonNull PropertySnapshot @NonNull [] children) {
+        return new CapturedProperty(name, null, children, true, null);
+    }
+
+    static @NonNull CapturedProperty keyed(
+            final @NonNull String name,
+            final @NonNull String @NonNull [] keys,
+            final @NonNull PropertySnapshot @NonNull [] children
+    ) {
+        return new CapturedProperty(name, keys, children, false, null);
+    }
+
+    static @NonNull CapturedProperty flattened(final @NonNull String name, final @NonNull Map<String, Property> flattened) {
+        return new CapturedProperty(name, null, NO_CHILDREN, false, flattened);
+    }
+
+    static @NonNull Property capture(final @NonNull Property property) {
+        if (property instanceof NestedProperty nestedProperty) {
+            return nested(nestedProperty.name(), nestedProperty.propertyHolder());
+        }
+
+        if (property instanceof CollectionProperty collectionProperty) {
+            return collectionProperty.capture();
+        }
+
+        if (property instanceof MapProperty mapProperty) {
+            return mapProperty.capture();
+        }
+
+        if (property instanceof FlattenableProperty flattenableProperty) {
+            return flattened(flattenableProperty.name(), flattenableProperty.flatten());
+        }
+
+        return property;
+    }
+
+    @Override
+    public @NonNull String name() {
+        return this.name;
+    }
+
+    /**
+     * Write the flattened children into a flattener, which is positioned at the path of this property
+     *
+     * @param flattener Flattener to write to
+     */
+    void flatten(final @NonNull PropertyFlattener flattener) {
+        if (this.flattened != null) {
+            this.flattened.forEach(flattener::leaf);
+            return;
+        }
+
+        for (int i = 0; i < this.children.length; i++) {
+            if (this.keys != null) {
+                flattener.child(this.keys[i], this.children[i]);
+            } else if (this.indexed) {
+                flattener.child(i, this.children[i]);
+            } else {
+                flattener.child(this.children[i]);
+            }
+        }
+    }
+
+    @Override
+    public long fingerprint() {
+        if (this.flattened != null) {
+            long fingerprint = this.flattened.size();
+
+            for (final Map.Entry<String, Property> entry : this.flattened.entrySet()) {
+                fingerprint += Fingerprints.entry(Fingerprints.string(entry.getKey()), Fingerprints.property(entry.getValue()));
+            }
+
+            return fingerprint;
+        }
+
+        long fingerprint = this.children.length;
+
+        for (int i = 0; i < this.children.length; i++) {
+            long label = this.keys != null ? Fingerprints.string(this.keys[i]) : this.indexed ? i : 0;
+            fingerprint += Fingerprints.entry(label, this.children[i].fingerprint());
+        }
+
+        return fingerprint;
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object obj) {
+        if (obj == this) {
+            return true;
+        }
+
+        if (!(obj instanceof CapturedProperty that)) {
+            return false;
+        }
+
+        return this.indexed == that.indexed
+                && this.name.equals(that.name)
+                && Arrays.equals(this.keys, that.keys)
+                && Arrays.equals(this.children, that.children)
+                && Objects.equals(this.flattened, that.flattened);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 31 * this.name.hashCode() + Arrays.hashCode(this.keys);
+        hash = 31 * hash + Arrays.hashCode(this.children);
+        return 31 * hash + Objects.hashCode(this.flattened);
+    }
+
+}
@@ -34,14 +34,19 @@ record CollectionProperty(
     @Override
     public @NonNull Map<String, Property> flatten() {
         Map<String, Property> results = new HashMap<>();
+        this.capture().flatten(new PropertyFlattener(results));
+        return results;
+    }
+
+    @NonNull CapturedProperty capture() {
+        PropertySnapshot[] children = new PropertySnapshot[this.collection.size()];
+        int index = 0;
 
         for (final PropertyHolder propertyHolder : this.collection) {
-            for (final Property property : propertyHolder.properties()) {
-                results.put(this.name + ":" + property.name(), property);
-            }
+            children[index++] = propertyHolder.properties();
         }
 
-        return results;
+        return CapturedProperty.indexed(this.name, children);
     }
 
 }
@@ -0,0 +1,287 @@
+/*
+ * This file is part of corn, licensed under the GNU Lesser General Public License (LGPL) version 3 license.
+ *
+ * Copyright (C)  2020-2023 broccolai
+ * Copyright (C)  2020-2023 Contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package broccolai.corn.properties;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Thread-safe variant of {@link DirtyPropertiesMapImpl}.
+ * <p>
+ * Every check remembers the state it compared, and {@link #clean()} resets the trackers of the values to those
+ * states instead of taking new ones. Values modified or marked as dirty after being checked therefore stay dirty
+ * for the next cycle, rather than being silently marked as clean.
+ */
+final class ConcurrentDirtyPropertiesMap<K, V extends PropertyHolder> implements DirtyPropertiesMap<K, V> {
+
+    private final ConcurrentMap<K, V> base = new ConcurrentHashMap<>();
+    private final PropertyTracker<K> tracker;
+    // every mark is a distinct token, so a clean only removes the marks a check has seen
+    private final ConcurrentMap<K, Object> marks = new ConcurrentHashMap<>();
+    private final ConcurrentMap<K, Object> seenMarks = new ConcurrentHashMap<>();
+    private final ConcurrentMap<K, CollectedSnapshot> collected = new ConcurrentHashMap<>();
+
+    ConcurrentDirtyPropertiesMap(final boolean fingerprinted) {
+        this.tracker = new PropertyTracker<>(true, fingerprinted);
+    }
+
+    @Override
+    public void clean() {
+        for (final Entry<K, V> entry : this.base.entrySet()) {
+            K key = entry.getKey();
+            Object mark = this.marks.get(key);
+
+            // values checked since the last clean only lose the mark that check has seen
+            if (this.tracker.reset(key, entry.getValue())) {
+                mark = this.seenMarks.remove(key);
+            } else {
+                this.seenMarks.remove(key);
+            }
+
+            if (mark != null) {
+                this.marks.remove(key, mark);
+            }
+        }
+    }
+
+    @Override
+    public void clean(final @NonNull K key, final @NonNull PropertySnapshot snapshot) {
+        this.tracker.reset(key, snapshot);
+        CollectedSnapshot collected = this.collected.get(key);
+
+        if (collected == null) {
+            this.seenMarks.remove(key);
+            this.marks.remove(key);
+        } else if (collected.snapshot() == snapshot && this.collected.remove(key, collected) && collected.mark() != null) {
+            // only the mark seen when the snapshot was handed out is cleared, later marks stay for the next flush
+            this.seenMarks.remove(key, collected.mark());
+            this.marks.remove(key, collected.mark());
+        }
+    }
+
+    @Override
+    public @NonNull Collection<@NonNull V> dirty() {
+        Collection<V> dirtyValues = new ArrayList<>();
+
+        for (final Entry<K, V> entry : this.base.entrySet()) {
+            if (this.isDirty(entry.getKey(), entry.getValue())) {
+                dirtyValues.add(entry.getValue());
+            }
+        }
+
+        return dirtyValues;
+    }
+
+    @Override
+    public @NonNull Collection<@NonNull V> dirty(final @NonNull ForkJoinPool pool, final int threshold) {
+        if (this.base.size() < threshold) {
+            return this.dirty();
+        }
+
+        List<Entry<K, V>> entries = new ArrayList<>(this.base.entrySet());
+        boolean[] dirty = new boolean[entries.size()];
+
+        PropertyTracker.scan(pool, entries, (entry, index) -> dirty[index] = this.isDirty(entry.getKey(), entry.getValue()));
+
+        Collection<V> dirtyValues = new ArrayList<>();
+
+        for (int i = 0; i < dirty.length; i++) {
+            if (dirty[i]) {
+                dirtyValues.add(entries.get(i).getValue());
+            }
+        }
+
+        return dirtyValues;
+    }
+
+    @Override
+    public @NonNull Map<K, PropertyDiff> changes() {
+        this.tracker.requireSnapshots();
+        Map<K, PropertyDiff> changes = new LinkedHashMap<>();
+
+        for (final Entry<K, V> entry : this.base.entrySet()) {
+            K key = entry.getKey();
+            PropertySnapshot previous = this.tracker.previous(key);
+            PropertySnapshot current = this.dirtySnapshot(key, entry.getValue(), false);
+
+            if (current != null) {
+                changes.put(key, current.diff(previous));
+            }
+        }
+
+        return changes;
+    }
+
+    @Override
+    public boolean isDirty(final @NonNull K key) {
+        return this.isDirty(key, this.base.get(key));
+    }
+
+    private boolean isDirty(final @NonNull K key, final @Nullable V propertyHolder) {
+        if (propertyHolder == null) {
+            return false;
+        }
+
+        return this.dirtySnapshot(key, propertyHolder, false) != null;
+    }
+
+    @Override
+    public @Nullable PropertySnapshot dirtySnapshot(final @NonNull K key) {
+        return this.dirtySnapshot(key, this.base.get(key), true);
+    }
+
+    // snapshots handed out remember the mark they have seen, so resetting to them does not clear later marks
+    private @Nullable PropertySnapshot dirtySnapshot(final @NonNull K key, final @Nullable V propertyHolder, final boolean collect) {
+        if (propertyHolder == null) {
+            return null;
+        }
+
+        // marked values are snapshotted as well, so modifications after the check are not cleaned by the next clean
+        Object mark = this.marked(key);
+        PropertySnapshot current;
+
+        if (mark != null) {
+            current = this.tracker.snapshot(key, propertyHolder);
+        } else {
+            current = this.tracker.compare(key, propertyHolder);
+
+            if (current == null) {
+                return null;
+            }
+
+            mark = this.mark(key);
+        }
+
+        if (collect) {
+            this.collected.put(key, new CollectedSnapshot(current, mark));
+        }
+
+        return current;
+    }
+
+    @Override
+    public void setDirty(final @NonNull K key) {
+        this.marks.put(key, new Object());
+    }
+
+    private @Nullable Object marked(final @NonNull K key) {
+        Object mark = this.marks.get(key);
+
+        if (mark != null) {
+            this.seenMarks.put(key, mark);
+        }
+
+        return mark;
+    }
+
+    // changed values stay dirty until the next clean, like values marked as dirty
+    private @Nullable Object mark(final @NonNull K key) {
+        Object mark = new Object();
+
+        // a mark set in the meantime was not seen by this check, and has to survive the next clean
+        if (this.marks.putIfAbsent(key, mark) != null) {
+            return null;
+        }
+
+        this.seenMarks.put(key, mark);
+        return mark;
+    }
+
+    @Override
+    public int size() {
+        return this.base.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.base.isEmpty();
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return this.base.containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(final Object value) {
+        return this.base.containsValue(value);
+    }
+
+    @Override
+    public V get(final Object key) {
+        return this.base.get(key);
+    }
+
+    @Override
+    public V put(final K key, final V value) {
+        this.tracker.track(key, value);
+        return this.base.put(key, value);
+    }
+
+    @Override
+    public V remove(final Object key) {
+        this.tracker.remove(key);
+        this.marks.remove(key);
+        this.seenMarks.remove(key);
+        this.collected.remove(key);
+        return this.base.remove(key);
+    }
+
+    @Override
+    public void putAll(final @NonNull Map<? extends K, ? extends V> m) {
+        m.forEach(this::put);
+    }
+
+    @Override
+    public void clear() {
+        this.base.clear();
+        this.tracker.clear();
+        this.marks.clear();
+        this.seenMarks.clear();
+        this.collected.clear();
+    }
+
+    @Override
+    public @NonNull Set<K> keySet() {
+        return this.base.keySet();
+    }
+
+    @Override
+    public @NonNull Collection<V> values() {
+        return this.base.values();
+    }
+
+    @Override
+    public @NonNull Set<Entry<K, V>> entrySet() {
+        return this.base.entrySet();
+    }
+
+}
@@ -0,0 +1,291 @@
+/*
+ * This file is part of corn, licensed under the GNU Lesser General Public License (LGPL) version 3 license.
+ *
+ * Copyright (C)  2020-2023 broccolai
+ * Copyright (C)  2020-2023 Contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package broccolai.corn.properties;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Write-behind flusher handing the dirty values of a {@link DirtyPropertiesMap} to a {@link PropertySink} in batches.
+ * <p>
+ * Every flush collects dirty values into batches of at most the configured size and writes them to the sink.
+ * A value is only marked as clean once the sink acknowledged its batch, and only if it was not modified since it was
+ * collected, failed writes are retried by the next flush. Values that are still being written are skipped, and
+ * no new batches are started while the maximum amount of batches is in flight, leaving the remaining values dirty
+ * until the sink caught up.
+ * <p>
+ * Flushes access the map without synchronization, so they have to happen on the thread that owns the map,
+ * acknowledgements from the sink are queued and applied by the next flush.
+ *
+ * @param <K> the type of keys maintained by the map
+ * @param <V> the type of mapped values
+ */
+public final class DirtyPropertiesFlusher<K, V extends PropertyHolder> {
+
+    private final DirtyPropertiesMap<K, V> map;
+    private final PropertySink<K, V> sink;
+    private final int batchSize;
+    private final int maxInFlight;
+    private final Consumer<? super Throwable> failureHandler;
+
+    // snapshots of the values currently being written, only accessed by the flushing thread
+    private final Map<K, PropertySnapshot> writing = new HashMap<>();
+    private final Queue<Acknowledgement<K>> acknowledgements = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private DirtyPropertiesFlusher(final @NonNull Builder<K, V> builder) {
+        this.map = builder.map;
+        this.sink = builder.sink;
+        this.batchSize = builder.batchSize;
+        this.maxInFlight = builder.maxInFlight;
+        this.failureHandler = builder.failureHandler;
+    }
+
+    /**
+     * Create a builder for a flusher
+     *
+     * @param map  Map to flush dirty values from
+     * @param sink Sink to write dirty values to
+     * @param <K>  the type of keys maintained by the map
+     * @param <V>  the type of mapped values
+     * @return Created builder
+     */
+    public static <K, V extends PropertyHolder> @NonNull Builder<K, V> builder(
+            final @NonNull DirtyPropertiesMap<K, V> map,
+            final @NonNull PropertySink<K, V> sink
+    ) {
+        return new Builder<>(map, sink);
+    }
+
+    /**
+     * Apply the acknowledged writes, then write all dirty values that are not already being written
+     *
+     * @return Future completing once all batches started by this flush were written,
+     *         or exceptionally if any of them failed
+     */
+    public @NonNull CompletableFuture<Void> flush() {
+        this.acknowledge();
+
+        List<CompletableFuture<?>> writes = new ArrayList<>();
+        Map<K, V> batch = new LinkedHashMap<>();
+        Map<K, PropertySnapshot> snapshots = new HashMap<>();
+
+        for (final Map.Entry<K, V> entry : this.map.entrySet()) {
+            if (batch.isEmpty() && this.inFlight.get() >= this.maxInFlight) {
+                break;
+            }
+
+            K key = entry.getKey();
+
+            if (this.writing.containsKey(key)) {
+                continue;
+            }
+
+            PropertySnapshot snapshot = this.map.dirtySnapshot(key);
+
+            if (snapshot == null) {
+                continue;
+            }
+
+            batch.put(key, entry.getValue());
+            snapshots.put(key, snapshot);
+
+            if (batch.size() == this.batchSize) {
+                writes.add(this.write(batch, snapshots));
+                batch = new LinkedHashMap<>();
+                snapshots = new HashMap<>();
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            writes.add(this.write(batch, snapshots));
+        }
+
+        // sinks completing synchronously are acknowledged right away
+        this.acknowledge();
+
+        return CompletableFuture.allOf(writes.toArray(new CompletableFuture<?>[0]));
+    }
+
+    /**
+     * Schedule flushes on an executor, which then has to be the only thread accessing the map.
+     * <p>
+     * Exceptions thrown by a flush and failed writes are passed to the failure handler of the flusher,
+     * and do not cancel later flushes.
+     *
+     * @param executor Executor to flush on
+     * @param interval Delay between the end of a flush and the start of the next one
+     * @return Future of the scheduled flushes, which can be used to cancel them
+     */
+    public @NonNull ScheduledFuture<?> schedule(final @NonNull ScheduledExecutorService executor, final @NonNull Duration interval) {
+        long delay = interval.toNanos();
+        return executor.scheduleWithFixedDelay(this::scheduledFlush, delay, delay, TimeUnit.NANOSECONDS);
+    }
+
+    // an exception escaping a scheduled task would silently suppress all of its later runs
+    private void scheduledFlush() {
+        try {
+            this.flush().whenComplete((result, failure) -> {
+                if (failure != null) {
+                    this.failureHandler.accept(failure instanceof CompletionException && failure.getCause() != null
+                            ? failure.getCause()
+                            : failure);
+                }
+            });
+        } catch (final RuntimeException e) {
+            this.failureHandler.accept(e);
+        }
+    }
+
+    /**
+     * Retrieve the amount of batches that were handed to the sink but not acknowledged yet
+     *
+     * @return Amount of batches in flight
+     */
+    public int inFlight() {
+        return this.inFlight.get();
+    }
+
+    private @NonNull CompletableFuture<?> write(final @NonNull Map<K, V> batch, final @NonNull Map<K, PropertySnapshot> snapshots) {
+        this.writing.putAll(snapshots);
+        this.inFlight.incrementAndGet();
+
+        CompletableFuture<?> write;
+
+        try {
+            write = this.sink.write(Collections.unmodifiableMap(batch));
+        } catch (final RuntimeException e) {
+            write = CompletableFuture.failedFuture(e);
+        }
+
+        return write.whenComplete((result, failure) -> {
+            this.acknowledgements.add(new Acknowledgement<>(snapshots, failure == null));
+            this.inFlight.decrementAndGet();
+        });
+    }
+
+    private void acknowledge() {
+        Acknowledgement<K> acknowledgement;
+
+        while ((acknowledgement = this.acknowledgements.poll()) != null) {
+            for (final Map.Entry<K, PropertySnapshot> entry : acknowledgement.snapshots().entrySet()) {
+                this.writing.remove(entry.getKey());
+
+                if (acknowledgement.written()) {
+                    this.map.clean(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+    }
+
+    private record Acknowledgement<K>(@NonNull Map<K, PropertySnapshot> snapshots, boolean written) {
+    }
+
+    public static final class Builder<K, V extends PropertyHolder> {
+
+        private final DirtyPropertiesMap<K, V> map;
+        private final PropertySink<K, V> sink;
+        private int batchSize = 128;
+        private int maxInFlight = 4;
+        private Consumer<? super Throwable> failureHandler = Builder::uncaught;
+
+        private Builder(final @NonNull DirtyPropertiesMap<K, V> map, final @NonNull PropertySink<K, V> sink) {
+            this.map = map;
+            this.sink = sink;
+        }
+
+        /**
+         * Set the maximum amount of values written in a single batch, defaults to 128
+         *
+         * @param batchSize Maximum batch size
+         * @return This builder
+         * @throws IllegalArgumentException if the size is not positive
+         */
+        public @NonNull Builder<K, V> batchSize(final int batchSize) {
+            if (batchSize < 1) {
+                throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+            }
+
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * Set the maximum amount of batches the sink may be writing at once, defaults to 4
+         *
+         * @param maxInFlight Maximum amount of unacknowledged batches
+         * @return This builder
+         * @throws IllegalArgumentException if the amount is not positive
+         */
+        public @NonNull Builder<K, V> maxInFlight(final int maxInFlight) {
+            if (maxInFlight < 1) {
+                throw new IllegalArgumentException("Maximum batches in flight must be positive: " + maxInFlight);
+            }
+
+            this.maxInFlight = maxInFlight;
+            return this;
+        }
+
+        /**
+         * Set the handler of failures of scheduled flushes, defaults to the uncaught exception handler of the
+         * thread the failure happened on
+         *
+         * @param failureHandler Handler to pass exceptions thrown by flushes and failed writes to
+         * @return This builder
+         */
+        public @NonNull Builder<K, V> failureHandler(final @NonNull Consumer<? super Throwable> failureHandler) {
+            this.failureHandler = failureHandler;
+            return this;
+        }
+
+        /**
+         * Build the flusher
+         *
+         * @return Built flusher
+         */
+        public @NonNull DirtyPropertiesFlusher<K, V> build() {
+            return new DirtyPropertiesFlusher<>(this);
+        }
+
+        private static void uncaught(final @NonNull Throwable failure) {
+            Thread thread = Thread.currentThread();
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, failure);
+        }
+
+    }
+
+}
@@ -21,10 +21,12 @@
 package broccolai.corn.properties;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 public interface DirtyPropertiesMap<K, V extends PropertyHolder> extends Map<K, V> {
 
@@ -37,7 +39,7 @@
      * @return Map created with base
      */
     static <K, V extends PropertyHolder> DirtyPropertiesMap<K, V> from(final @NonNull Map<K, V> base) {
-        return new DirtyPropertiesMapImpl<>(base);
+        return new DirtyPropertiesMapImpl<>(base, false);
     }
 
     /**
@@ -48,21 +50,105 @@ static <K, V extends PropertyHolder> DirtyPropertiesMap<K, V> from(final @NonNul
      * @return Map created with a HashMap
      */
     static <K, V extends PropertyHolder> DirtyPropertiesMap<K, V> hashmap() {
-        return new DirtyPropertiesMapImpl<>(new HashMap<>());
+        return new DirtyPropertiesMapImpl<>(new HashMap<>(), false);
     }
 
     /**
-     * Reset all dirty trackers to the current map state
+     * Create a DirtyPropertiesMap from an existing Map instance, retaining only a fingerprint of each value.
+     * <p>
+     * Instead of keeping the previous snapshot of every value, only its 64-bit {@link PropertySnapshot#fingerprint()}
+     * is kept. A value whose fingerprint changed is always dirty, while a change that keeps the fingerprint intact
+     * is missed. For strings, boxed primitives and primitive properties this happens with a probability of roughly
+     * 2^-64, other objects are fingerprinted from their hash code, so any change to them that keeps
+     * {@link Object#hashCode()} the same is missed.
+     *
+     * @param base Map instance to generate with
+     * @param <K>  the type of keys maintained by this map
+     * @param <V>  the type of mapped values
+     * @return Map created with base
+     */
+    static <K, V extends PropertyHolder> DirtyPropertiesMap<K, V> fingerprinted(final @NonNull Map<K, V> base) {
+        return new DirtyPropertiesMapImpl<>(base, true);
+    }
+
+    /**
+     * Create a thread-safe DirtyPropertiesMap backed by a ConcurrentHashMap.
+     * <p>
+     * Values may be modified and marked as dirty from any thread while another thread checks the map.
+     * {@link #clean()} resets the values to the state seen when they were last checked, so values modified or marked
+     * as dirty after being checked stay dirty for the next cycle.
+     *
+     * @param <K> the type of keys maintained by this map
+     * @param <V> the type of mapped values
+     * @return Map created with a ConcurrentHashMap
+     */
+    static <K, V extends PropertyHolder> DirtyPropertiesMap<K, V> concurrent() {
+        return new ConcurrentDirtyPropertiesMap<>(false);
+    }
+
+    /**
+     * Create a thread-safe DirtyPropertiesMap backed by a ConcurrentHashMap, retaining only a fingerprint of each
+     * value, combining {@link #concurrent()} and {@link #fingerprinted(Map)}
+     *
+     * @param <K> the type of keys maintained by this map
+     * @param <V> the type of mapped values
+     * @return Map created with a ConcurrentHashMap
+     */
+    static <K, V extends PropertyHolder> DirtyPropertiesMap<K, V> concurrentFingerprinted() {
+        return new ConcurrentDirtyPropertiesMap<>(true);
+    }
+
+    /**
+     * Reset all dirty trackers to the current map state.
+     * <p>
+     * Values checked since the last clean are reset to the state they were checked in, reusing the snapshot
+     * taken by that check, so values modified after being checked stay dirty. Only unchecked values are snapshotted.
      */
     void clean();
 
     /**
-     * Retrieve all values from the map that are currently dirty
+     * Reset the dirty tracker of a single key to a snapshot of its value, such as the state last written out.
+     * <p>
+     * The value stays dirty if it has changed since the snapshot was taken. Keys that are no longer
+     * in the map are ignored. When the snapshot was returned by {@link #dirtySnapshot(Object)}, only a mark set
+     * before that call is cleared, so a key marked with {@link #setDirty(Object)} while the snapshot was being written
+     * out stays dirty.
+     *
+     * @param key      Key to reset
+     * @param snapshot Snapshot of the value to compare against from now on
+     */
+    void clean(@NonNull K key, @NonNull PropertySnapshot snapshot);
+
+    /**
+     * Retrieve all values from the map that are currently dirty.
+     * <p>
+     * Values implementing {@link VersionedPropertyHolder} are only snapshotted when their version changed.
      *
      * @return Collection containing dirty values
      */
     @NonNull Collection<@NonNull V> dirty();
 
+    /**
+     * Retrieve all values from the map that are currently dirty, snapshotting values in parallel on a pool
+     * once the map holds at least threshold entries.
+     * <p>
+     * Values are returned in the same order as {@link #dirty()}. The map must not be modified during the scan,
+     * and values must support creating snapshots from multiple threads.
+     *
+     * @param pool      Pool to scan with
+     * @param threshold Minimum amount of entries to scan in parallel, smaller maps are scanned sequentially
+     * @return Collection containing dirty values
+     */
+    @NonNull Collection<@NonNull V> dirty(@NonNull ForkJoinPool pool, int threshold);
+
+    /**
+     * Compute the property changes of every dirty value since the last clean
+     *
+     * @return Map of dirty keys to the changes of their value
+     * @throws UnsupportedOperationException if the map only retains fingerprints of previous values
+     */
+    @NonNull Map<K, PropertyDiff> changes();
+
     /**
      * Check if a key currently has a dirty value
      *
@@ -71,6 +157,16 @@ static <K, V extends PropertyHolder> DirtyPropertiesMap<K, V> hashmap() {
      */
     boolean isDirty(@NonNull K key);
 
+    /**
+     * Check if a key currently has a dirty value, returning the snapshot taken by the check.
+     * <p>
+     * Equivalent to {@link #isDirty(Object)} followed by snapshotting the value, without snapshotting it twice.
+     *
+     * @param key Key to lookup with
+     * @return Current snapshot of the value, or null if the key has no dirty value
+     */
+    @Nullable PropertySnapshot dirtySnapshot(@NonNull K key);
+
     /**
      * Set a keys value to be dirty
      *
@@ -21,55 +21,132 @@
 package broccolai.corn.properties;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 final class DirtyPropertiesMapImpl<K, V extends PropertyHolder> implements DirtyPropertiesMap<K, V> {
 
     private final Map<K, V> base;
-    private final Map<K, PropertySnapshot> previousProperties = new HashMap<>();
-    private final Set<K> knownDirty = new HashSet<>();
+    private final PropertyTracker<K> tracker;
+    // every mark is a distinct token, so a key marked again while its snapshot is written out stays dirty
+    private final Map<K, Object> knownDirty = new HashMap<>();
+    private final Map<K, CollectedSnapshot> collected = new HashMap<>();
 
-    DirtyPropertiesMapImpl(final @NonNull Map<K, V> base) {
+    DirtyPropertiesMapImpl(final @NonNull Map<K, V> base, final boolean fingerprinted) {
         this.base = base;
-        this.fillPreviousProperties();
+        this.tracker = new PropertyTracker<>(false, fingerprinted);
+        this.base.forEach(this.tracker::track);
     }
 
     @Override
     public void clean() {
         this.knownDirty.clear();
-        this.fillPreviousProperties();
+
+        for (final Entry<K, V> entry : this.base.entrySet()) {
+            this.tracker.reset(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public void clean(final @NonNull K key, final @NonNull PropertySnapshot snapshot) {
+        if (!this.base.containsKey(key)) {
+            return;
+        }
+
+        CollectedSnapshot collected = this.collected.get(key);
+
+        if (collected == null) {
+            this.knownDirty.remove(key);
+        } else if (collected.snapshot() == snapshot) {
+            // only the mark seen when the snapshot was handed out is cleared, later marks stay for the next flush
+            this.collected.remove(key);
+            this.knownDirty.remove(key, collected.mark());
+        }
+
+        this.tracker.reset(key, snapshot);
     }
 
     @Override
     public @NonNull Collection<@NonNull V> dirty() {
         Collection<V> dirtyValues = new ArrayList<>();
 
-        for (final K key : this.base.keySet()) {
-            if (this.isDirty(key)) {
-                dirtyValues.add(this.base.get(key));
+        for (final Entry<K, V> entry : this.base.entrySet()) {
+            if (this.isDirty(entry.getKey(), entry.getValue())) {
+                dirtyValues.add(entry.getValue());
+            }
+        }
+
+        return dirtyValues;
+    }
+
+    @Override
+    public @NonNull Collection<@NonNull V> dirty(final @NonNull ForkJoinPool pool, final int threshold) {
+        if (this.base.size() < threshold) {
+            return this.dirty();
+        }
+
+        List<Entry<K, V>> entries = new ArrayList<>(this.base.entrySet());
+        boolean[] dirty = new boolean[entries.size()];
+
+        // the known dirty set is only read during the scan, and updated afterwards on this thread
+        PropertyTracker.scan(pool, entries, (entry, index) -> dirty[index] = this.knownDirty.containsKey(entry.getKey())
+                || this.tracker.compare(entry.getKey(), entry.getValue()) != null);
+
+        Collection<V> dirtyValues = new ArrayList<>();
+
+        for (int i = 0; i < dirty.length; i++) {
+            if (dirty[i]) {
+                Entry<K, V> entry = entries.get(i);
+                this.knownDirty.putIfAbsent(entry.getKey(), new Object());
+                dirtyValues.add(entry.getValue());
             }
         }
 
         return dirtyValues;
     }
 
+    @Override
+    public @NonNull Map<K, PropertyDiff> changes() {
+        this.tracker.requireSnapshots();
+        Map<K, PropertyDiff> changes = new LinkedHashMap<>();
+
+        for (final Entry<K, V> entry : this.base.entrySet()) {
+            K key = entry.getKey();
+            PropertySnapshot previous = this.tracker.previous(key);
+            PropertySnapshot current = this.dirtySnapshot(key, entry.getValue(), false);
+
+            if (current != null) {
+                changes.put(key, current.diff(previous));
+            }
+        }
+
+        return changes;
+    }
+
     @Override
     public boolean isDirty(@NonNull final K key) {
-        if (this.knownDirty.contains(key)) {
-            return true;
+        return this.isDirty(key, this.base.get(key));
+    }
+
+    private boolean isDirty(final @NonNull K key, final @Nullable V propertyHolder) {
+        if (propertyHolder == null) {
+            return false;
         }
 
-        V propertyHolder = this.base.get(key);
-        PropertySnapshot previousSnapshot = previousProperties.get(key);
+        if (this.knownDirty.containsKey(key)) {
+            return true;
+        }
 
-        if (!previousSnapshot.equals(propertyHolder.properties())) {
-            this.knownDirty.add(key);
+        if (this.tracker.compare(key, propertyHolder) != null) {
+            this.knownDirty.put(key, new Object());
             return true;
         }
 
@@ -77,12 +154,42 @@ public boolean isDirty(@NonNull final K key) {
     }
 
     @Override
-    public void setDirty(@NonNull final K key) {
-        this.knownDirty.add(key);
+    public @Nullable PropertySnapshot dirtySnapshot(final @NonNull K key) {
+        return this.dirtySnapshot(key, this.base.get(key), true);
     }
 
-    private void fillPreviousProperties() {
-        this.base.forEach((key, value) -> this.previousProperties.put(key, value.properties()));
+    // snapshots handed out remember the mark they have seen, so resetting to them does not clear later marks
+    private @Nullable PropertySnapshot dirtySnapshot(final @NonNull K key, final @Nullable V propertyHolder, final boolean collect) {
+        if (propertyHolder == null) {
+            return null;
+        }
+
+        Object mark = this.knownDirty.get(key);
+        PropertySnapshot current;
+
+        if (mark != null) {
+            current = this.tracker.snapshot(key, propertyHolder);
+        } else {
+            current = this.tracker.compare(key, propertyHolder);
+
+            if (current == null) {
+                return null;
+            }
+
+            mark = new Object();
+            this.knownDirty.put(key, mark);
+        }
+
+        if (collect) {
+            this.collected.put(key, new CollectedSnapshot(current, mark));
+        }
+
+        return current;
+    }
+
+    @Override
+    public void setDirty(@NonNull final K key) {
+        this.knownDirty.put(key, new Object());
     }
 
     @Override
@@ -112,25 +219,29 @@ public V get(final Object key) {
 
     @Override
     public V put(final K key, final V value) {
-        this.previousProperties.put(key, value.properties());
+        this.tracker.track(key, value);
         return this.base.put(key, value);
     }
 
     @Override
     public V remove(final Object key) {
+        this.tracker.remove(key);
+        this.knownDirty.remove(key);
+        this.collected.remove(key);
         return this.base.remove(key);
     }
 
     @Override
     public void putAll(final @NonNull Map<? extends K, ? extends V> m) {
-        this.base.putAll(m);
+        m.forEach(this::put);
     }
 
     @Override
     public void clear() {
         this.base.clear();
-        this.previousProperties.clear();
+        this.tracker.clear();
         this.knownDirty.clear();
+        this.collected.clear();
     }
 
     @Override
@@ -0,0 +1,140 @@
+/*
+ * This file is part of corn, licensed under the GNU Lesser General Public License (LGPL) version 3 license.
+ *
+ * Copyright (C)  2020-2023 broccolai
+ * Copyright (C)  2020-2023 Contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package broccolai.corn.properties;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * 64-bit fingerprints of property values.
+ * <p>
+ * Strings, boxed primitives and the primitive properties are fingerprinted from their full value, other objects only
+ * from their 32-bit {@link Object#hashCode()}, so a change of such an object that keeps its hash code is missed.
+ */
+final class Fingerprints {
+
+    // added to the mixed value so equal bits of values of different types do not share a fingerprint
+    static final long NULL = 0x9E3779B97F4A7C15L;
+    static final long STRING = 0x3C6EF372FE94F82AL;
+    static final long INT = 0xDAA66D2C7DDF743FL;
+    static final long LONG = 0x78DDE6E5FD29F054L;
+    static final long DOUBLE = 0x1715609D7C746C69L;
+    static final long BOOLEAN = 0xB54CDA56FBBEE87EL;
+    static final long HASH = 0x538453C0FB096493L;
+
+    private static final long FNV_OFFSET = 0xCBF29CE484222325L;
+    private static final long FNV_PRIME = 0x100000001B3L;
+
+    private Fingerprints() {
+    }
+
+    static long of(final long bits, final long type) {
+        return mix(bits) + type;
+    }
+
+    /**
+     * Fingerprint a property, from its value if it is a {@link FingerprintedProperty} or its hash code otherwise
+     *
+     * @param property Property to fingerprint
+     * @return Fingerprint of the property
+     */
+    static long property(final @NonNull Property property) {
+        return property instanceof FingerprintedProperty fingerprinted ? fingerprinted.fingerprint() : of(property.hashCode(), HASH);
+    }
+
+    /**
+     * Fingerprint a named entry, such as a property or map child
+     *
+     * @param name        Fingerprint of the name
+     * @param fingerprint Fingerprint of the value
+     * @return Fingerprint of the entry
+     */
+    static long entry(final long name, final long fingerprint) {
+        return mix(mix(name) ^ fingerprint);
+    }
+
+    /**
+     * Fingerprint an object value
+     *
+     * @param value Value to fingerprint
+     * @return Fingerprint of the value
+     */
+    static long value(final @Nullable Object value) {
+        if (value == null) {
+            return NULL;
+        }
+
+        if (value instanceof String string) {
+            return string(string);
+        }
+
+        if (value instanceof Integer intValue) {
+            return of(intValue, INT);
+        }
+
+        if (value instanceof Long longValue) {
+            return of(longValue, LONG);
+        }
+
+        if (value instanceof Double doubleValue) {
+            return of(Double.doubleToLongBits(doubleValue), DOUBLE);
+        }
+
+        if (value instanceof Boolean booleanValue) {
+            return of(booleanValue ? 1 : 0, BOOLEAN);
+        }
+
+        return of(value.hashCode(), HASH);
+    }
+
+    /**
+     * Fingerprint a string from all of its characters, using 64-bit FNV-1a
+     *
+     * @param string String to fingerprint
+     * @return Fingerprint of the string
+     */
+    static long string(final @NonNull String string) {
+        long hash = FNV_OFFSET;
+
+        for (int i = 0; i < string.length(); i++) {
+            hash = (hash ^ string.charAt(i)) * FNV_PRIME;
+        }
+
+        return of(hash, STRING);
+    }
+
+    /**
+     * Spread the bits of a value over the full 64 bits, using the MurmurHash3 finalizer
+     *
+     * @param value Value to mix
+     * @return Mixed value
+     */
+    static long mix(final long value) {
+        long mixed = value;
+        mixed ^= mixed >>> 33;
+        mixed *= 0xFF51AFD7ED558CCDL;
+        mixed ^= mixed >>> 33;
+        mixed *= 0xC4CEB9FE1A85EC53L;
+        mixed ^= mixed >>> 33;
+        return mixed;
+    }
+
+}
@@ -24,6 +24,7 @@
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.TreeMap;
 
 record MapProperty(
         @NonNull String name,
@@ -33,15 +34,22 @@ record MapProperty(
     @Override
     public @NonNull Map<String, Property> flatten() {
         Map<String, Property> results = new HashMap<>();
+        this.capture().flatten(new PropertyFlattener(results));
+        return results;
+    }
 
-        this.entries.forEach((key, propertyHolder) -> {
-            String keyedName = this.name + ":" + key;
-            for (final Property property : propertyHolder.properties()) {
-                results.put(keyedName + ":" + property.name(), property);
-            }
-        });
+    @NonNull CapturedProperty capture() {
+        String[] keys = new String[this.entries.size()];
+        PropertySnapshot[] children = new PropertySnapshot[this.entries.size()];
+        int index = 0;
 
-        return results;
+        // sorted, so captured maps are equal regardless of their iteration order
+        for (final Map.Entry<String, PropertyHolder> entry : new TreeMap<>(this.entries).entrySet()) {
+            keys[index] = entry.getKey();
+            children[index++] = entry.getValue().properties();
+        }
+
+        return CapturedProperty.keyed(this.name, keys, children);
     }
 
 }
@@ -23,7 +23,6 @@
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -31,23 +30,8 @@ record NestedProperty(@NonNull String name, @Nullable PropertyHolder propertyHol
 
     @Override
     public @NonNull Map<String, Property> flatten() {
-        if (propertyHolder == null) {
-            return Collections.emptyMap();
-        }
-
         Map<String, Property> results = new HashMap<>();
-
-        for (final Property property : this.propertyHolder.properties()) {
-            if (property instanceof FlattenableProperty flattenableProperty) {
-                flattenableProperty.flatten().forEach((key, value) -> {
-                    results.put(property.name() + ":" + key, value);
-                });
-                continue;
-            }
-
-            results.put(property.name(), property);
-        }
-
+        CapturedProperty.nested(this.name, this.propertyHolder).flatten(new PropertyFlattener(results));
         return results;
     }
 
@@ -25,14 +25,15 @@
 
 import java.util.Objects;
 
-final class ObjectProperty implements Property {
+final class ObjectProperty implements FingerprintedProperty {
 
     private final @NonNull String name;
-    private final @Nullable Integer objectHash;
+    // only a hash of the value is kept, SafeProperty retains the value itself for an exact comparison
+    private final long fingerprint;
 
     ObjectProperty(final @NonNull String name, final @Nullable Object object) {
         this.name = name;
-        this.objectHash = object != null ? object.hashCode() : null;
+        this.fingerprint = Fingerprints.value(object);
     }
 
     @Override
@@ -40,6 +41,11 @@ final class ObjectProperty implements Property {
         return this.name;
     }
 
+    @Override
+    public long fingerprint() {
+        return this.fingerprint;
+    }
+
     @Override
     public boolean equals(final @Nullable Object obj) {
         if (obj == this) {
@@ -49,12 +55,13 @@ public boolean equals(final @Nullable Object obj) {
             return false;
         }
 
-        return Objects.equals(this.name(), objectProperty.name()) && Objects.equals(this.objectHash, objectProperty.objectHash);
+        // the fingerprint tells null, 0 and "" apart, as well as strings and primitives sharing a hash code
+        return this.fingerprint == objectProperty.fingerprint && Objects.equals(this.name(), objectProperty.name());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(name, objectHash);
+        return 31 * this.name.hashCode() + Long.hashCode(this.fingerprint);
     }
 
 }
@@ -25,7 +25,7 @@
 
 import java.util.Objects;
 
-final class ObjectSafeProperty implements Property {
+final class ObjectSafeProperty implements FingerprintedProperty {
 
     private final @NonNull String name;
     private final @Nullable Object object;
@@ -40,6 +40,11 @@ final class ObjectSafeProperty implements Property {
         return name;
     }
 
+    @Override
+    public long fingerprint() {
+        return Fingerprints.value(this.object);
+    }
+
     @Override
     public boolean equals(final @Nullable Object obj) {
         if (obj == this) {
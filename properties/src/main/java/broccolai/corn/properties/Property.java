@@ -35,6 +35,10 @@ public interface Property {
 
     /**
      * Construct a Property with an Object as it's value
+     * <p>
+     * Only a 64-bit fingerprint of the value is kept, which covers strings and boxed primitives fully, while other
+     * objects are compared through their hash code. Use {@link SafeProperty#of(String, Object)} to compare the value
+     * itself.
      *
      * @param name   Name of the property
      * @param object Value of the property
@@ -66,4 +70,48 @@ public interface Property {
         return new CollectionProperty(name, propertyCollection);
     }
 
+    /**
+     * Construct a Property with an int as it's value, without boxing it
+     *
+     * @param name  Name of the property
+     * @param value Value of the property
+     * @return Constructed Property
+     */
+    static @NonNull Property ofInt(final @NonNull String name, final int value) {
+        return new IntProperty(name, value);
+    }
+
+    /**
+     * Construct a Property with a long as it's value, without boxing it
+     *
+     * @param name  Name of the property
+     * @param value Value of the property
+     * @return Constructed Property
+     */
+    static @NonNull Property ofLong(final @NonNull String name, final long value) {
+        return new LongProperty(name, value);
+    }
+
+    /**
+     * Construct a Property with a double as it's value, without boxing it
+     *
+     * @param name  Name of the property
+     * @param value Value of the property
+     * @return Constructed Property
+     */
+    static @NonNull Property ofDouble(final @NonNull String name, final double value) {
+        return new DoubleProperty(name, value);
+    }
+
+    /**
+     * Construct a Property with a boolean as it's value, without boxing it
+     *
+     * @param name  Name of the property
+     * @param value Value of the property
+     * @return Constructed Property
+     */
+    static @NonNull Property ofBoolean(final @NonNull String name, final boolean value) {
+        return new BooleanProperty(name, value);
+    }
+
 }
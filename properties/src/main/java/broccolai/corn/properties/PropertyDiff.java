@@ -0,0 +1,65 @@
+/*
+ * This file is part of corn, licensed under the GNU Lesser General Public License (LGPL) version 3 license.
+ *
+ * Copyright (C)  2020-2023 broccolai
+ * Copyright (C)  2020-2023 Contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package broccolai.corn.properties;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Set;
+
+/**
+ * Changes between two property snapshots, by flattened property path.
+ * <p>
+ * The returned sets are unmodifiable and keep a stable order, added and changed paths follow the order of the current
+ * snapshot while removed paths follow the order of the previous snapshot.
+ */
+public interface PropertyDiff {
+
+    /**
+     * Get the flattened paths of properties that were added
+     *
+     * @return Paths of added properties
+     */
+    @NonNull Set<String> added();
+
+    /**
+     * Get the flattened paths of properties that were removed
+     *
+     * @return Paths of removed properties
+     */
+    @NonNull Set<String> removed();
+
+    /**
+     * Get the flattened paths of properties present in both snapshots with a different value
+     *
+     * @return Paths of changed properties
+     */
+    @NonNull Set<String> changed();
+
+    /**
+     * Check if the diff contains no changes at all
+     *
+     * @return true if no property was added, removed or changed
+     */
+    default boolean isEmpty() {
+        return this.added().isEmpty() && this.removed().isEmpty() && this.changed().isEmpty();
+    }
+
+}
@@ -0,0 +1,64 @@
+/*
+ * This file is part of corn, licensed under the GNU Lesser General Public License (LGPL) version 3 license.
+ *
+ * Copyright (C)  2020-2023 broccolai
+ * Copyright (C)  2020-2023 Contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package broccolai.corn.properties;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+record PropertyDiffImpl(
+        @NonNull Set<String> added,
+        @NonNull Set<String> removed,
+        @NonNull Set<String> changed
+) implements PropertyDiff {
+
+    static @NonNull PropertyDiff between(final @NonNull Map<String, Property> current, final @NonNull Map<String, Property> previous) {
+        Set<String> added = new LinkedHashSet<>();
+        Set<String> removed = new LinkedHashSet<>();
+        Set<String> changed = new LinkedHashSet<>();
+
+        current.forEach((path, property) -> {
+            Property previousProperty = previous.get(path);
+
+            if (previousProperty == null) {
+                added.add(path);
+            } else if (!previousProperty.equals(property)) {
+                changed.add(path);
+            }
+        });
+
+        for (final String path : previous.keySet()) {
+            if (!current.containsKey(path)) {
+                removed.add(path);
+            }
+        }
+
+        return new PropertyDiffImpl(
+                Collections.unmodifiableSet(added),
+                Collections.unmodifiableSet(removed),
+                Collections.unmodifiableSet(changed)
+        );
+    }
+
+}
@@ -0,0 +1,99 @@
+/*
+ * This file is part of corn, licensed under the GNU Lesser General Public License (LGPL) version 3 license.
+ *
+ * Copyright (C)  2020-2023 broccolai
+ * Copyright (C)  2020-2023 Contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package broccolai.corn.properties;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Map;
+
+/**
+ * Flattens a tree of captured properties in a single pass, building every path in one reusable buffer
+ * and writing leaf properties directly into the target storage.
+ */
+final class PropertyFlattener {
+
+    private static final char SEPARATOR = ':';
+
+    private final StringBuilder path = new StringBuilder(64);
+    private final Map<String, Property> target;
+
+    PropertyFlattener(final @NonNull Map<String, Property> target) {
+        this.target = target;
+    }
+
+    void flatten(final @NonNull Iterable<Property> properties) {
+        for (final Property property : properties) {
+            final int mark = this.push(property.name());
+
+            if (property instanceof CapturedProperty capturedProperty) {
+                capturedProperty.flatten(this);
+            } else {
+                this.target.put(this.path.toString(), property);
+            }
+
+            this.path.setLength(mark);
+        }
+    }
+
+    void child(final @NonNull PropertySnapshot snapshot) {
+        if (snapshot instanceof PropertySnapshotImpl snapshotImpl) {
+            this.flatten(snapshotImpl.captured());
+        } else {
+            this.flatten(snapshot);
+        }
+    }
+
+    void child(final int index, final @NonNull PropertySnapshot snapshot) {
+        final int mark = this.path.length();
+
+        if (mark != 0) {
+            this.path.append(SEPARATOR);
+        }
+
+        this.path.append(index);
+        this.child(snapshot);
+        this.path.setLength(mark);
+    }
+
+    void child(final @NonNull String key, final @NonNull PropertySnapshot snapshot) {
+        final int mark = this.push(key);
+        this.child(snapshot);
+        this.path.setLength(mark);
+    }
+
+    void leaf(final @NonNull String relativePath, final @NonNull Property property) {
+        final int mark = this.push(relativePath);
+        this.target.put(this.path.toString(), property);
+        this.path.setLength(mark);
+    }
+
+    private int push(final @NonNull String segment) {
+        final int mark = this.path.length();
+
+        if (mark != 0) {
+            this.path.append(SEPARATOR);
+        }
+
+        this.path.append(segment);
+        return mark;
+    }
+
+}
@@ -0,0 +1,157 @@
+/*
+ * This file is part of corn, licensed under the GNU Lesser General Public License (LGPL) version 3 license.
+ *
+ * Copyright (C)  2020-2023 broccolai
+ * Copyright (C)  2020-2023 Contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package broccolai.corn.properties;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The top-level property names of a snapshot, in declaration order.
+ * <p>
+ * Holders of the same class declare the same names on every snapshot, so shapes are interned and shared between
+ * their snapshots, which then only store their properties. The sorted name table used to look up names of a
+ * differently ordered snapshot and the fingerprints of the names are built once per shape.
+ */
+final class PropertyShape {
+
+    // shapes with names built from data would otherwise grow the cache without bound
+    private static final int MAXIMUM_CACHED_SHAPES = 4096;
+    private static final Map<PropertyShape, PropertyShape> SHAPES = new ConcurrentHashMap<>();
+
+    private final @NonNull String @NonNull [] names;
+    private final int hash;
+    private volatile int @Nullable [] sorted;
+    private volatile long @Nullable [] fingerprints;
+
+    private PropertyShape(final @NonNull String @NonNull [] names) {
+        this.names = names;
+        this.hash = Arrays.hashCode(names);
+    }
+
+    static @NonNull PropertyShape of(final @NonNull Property @NonNull [] properties) {
+        String[] names = new String[properties.length];
+
+        for (int i = 0; i < properties.length; i++) {
+            names[i] = properties[i].name();
+        }
+
+        PropertyShape shape = new PropertyShape(names);
+        PropertyShape cached = SHAPES.get(shape);
+
+        if (cached != null) {
+            return cached;
+        }
+
+        if (SHAPES.size() < MAXIMUM_CACHED_SHAPES) {
+            cached = SHAPES.putIfAbsent(shape, shape);
+        }
+
+        return cached != null ? cached : shape;
+    }
+
+    int size() {
+        return this.names.length;
+    }
+
+    @NonNull String name(final int index) {
+        return this.names[index];
+    }
+
+    long fingerprint(final int index) {
+        long[] fingerprints = this.fingerprints;
+
+        if (fingerprints == null) {
+            fingerprints = new long[this.names.length];
+
+            for (int i = 0; i < fingerprints.length; i++) {
+                fingerprints[i] = Fingerprints.string(this.names[i]);
+            }
+
+            this.fingerprints = fingerprints;
+        }
+
+        return fingerprints[index];
+    }
+
+    int indexOf(final @NonNull String name) {
+        int[] sorted = this.sorted();
+        int low = 0;
+        int high = sorted.length - 1;
+
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int comparison = this.names[sorted[middle]].compareTo(name);
+
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return sorted[middle];
+            }
+        }
+
+        return -1;
+    }
+
+    private int @NonNull [] sorted() {
+        int[] sorted = this.sorted;
+
+        if (sorted == null) {
+            Integer[] indices = new Integer[this.names.length];
+
+            for (int i = 0; i < indices.length; i++) {
+                indices[i] = i;
+            }
+
+            Arrays.sort(indices, Comparator.comparing(index -> this.names[index]));
+            sorted = new int[indices.length];
+
+            for (int i = 0; i < indices.length; i++) {
+                sorted[i] = indices[i];
+            }
+
+            this.sorted = sorted;
+        }
+
+        return sorted;
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object obj) {
+        if (obj == this) {
+            return true;
+        }
+
+        return obj instanceof PropertyShape shape && this.hash == shape.hash && Arrays.equals(this.names, shape.names);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.hash;
+    }
+
+}
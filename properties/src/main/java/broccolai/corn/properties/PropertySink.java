@@ -0,0 +1,42 @@
+/*
+ * This file is part of corn, licensed under the GNU Lesser General Public License (LGPL) version 3 license.
+ *
+ * Copyright (C)  2020-2023 broccolai
+ * Copyright (C)  2020-2023 Contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package broccolai.corn.properties;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+@FunctionalInterface
+public interface PropertySink<K, V extends PropertyHolder> {
+
+    /**
+     * Write a batch of dirty values.
+     * <p>
+     * Values are the live holders, a sink reading them after returning may observe later changes,
+     * which are written again by the next flush.
+     *
+     * @param batch Unmodifiable map of dirty keys to their values
+     * @return Future completing once the batch was written, or exceptionally if it could not be written
+     */
+    @NonNull CompletableFuture<?> write(@NonNull Map<K, V> batch);
+
+}
@@ -23,6 +23,8 @@
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 public interface PropertySnapshot extends Iterable<Property> {
 
@@ -36,4 +38,48 @@ static PropertySnapshot of(final @NonNull Property... properties) {
         return new PropertySnapshotImpl(Arrays.asList(properties));
     }
 
+    /**
+     * Compute a 64-bit fingerprint of the snapshot.
+     * <p>
+     * Equal snapshots always have equal fingerprints, differing fingerprints mean the snapshots are not equal.
+     * Strings, boxed primitives and primitive properties contribute their full value, so a change to them keeps the
+     * fingerprint with a probability of roughly 2^-64. Other objects only contribute their {@link Object#hashCode()},
+     * a change to such an object that keeps its hash code also keeps the fingerprint.
+     *
+     * @return Fingerprint of the snapshot
+     */
+    default long fingerprint() {
+        long fingerprint = 0;
+
+        for (final Property property : this) {
+            fingerprint += Fingerprints.entry(Fingerprints.string(property.name()), Fingerprints.property(property));
+        }
+
+        return fingerprint;
+    }
+
+    /**
+     * Compute the changes of this snapshot compared to a previous snapshot, by flattened property path.
+     *
+     * @param other Previous snapshot to compare against
+     * @return Diff of added, removed and changed properties
+     */
+    default @NonNull PropertyDiff diff(final @NonNull PropertySnapshot other) {
+        return PropertyDiffImpl.between(paths(this), paths(other));
+    }
+
+    private static @NonNull Map<String, Property> paths(final @NonNull PropertySnapshot snapshot) {
+        if (snapshot instanceof PropertySnapshotImpl snapshotImpl) {
+            return snapshotImpl.flattenedProperties();
+        }
+
+        Map<String, Property> paths = new LinkedHashMap<>();
+
+        for (final Property property : snapshot) {
+            paths.put(property.name(), property);
+        }
+
+        return paths;
+    }
+
 }
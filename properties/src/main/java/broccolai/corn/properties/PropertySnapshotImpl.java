@@ -22,37 +22,71 @@
 
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 
 final class PropertySnapshotImpl implements PropertySnapshot {
 
-    private final Map<String, Property> flattenedProperties = new HashMap<>();
+    // nested holders are snapshotted on creation, paths are built on demand and not retained by long-lived snapshots
+    private final @NonNull PropertyShape shape;
+    private final @NonNull Property @NonNull [] captured;
 
     PropertySnapshotImpl(final @NonNull Collection<@NonNull Property> properties) {
-        for (final Property property : properties) {
-            if (property instanceof FlattenableProperty flattenableProperty) {
-                flattenableProperty.flatten().forEach((key, value) -> {
-                    this.flattenedProperties.put(property.name() + ":" + key, value);
-                });
-                continue;
-            }
+        Property[] captured = new Property[properties.size()];
+        int index = 0;
 
-            this.flattenedProperties.put(property.name(), property);
+        for (final Property property : properties) {
+            captured[index++] = CapturedProperty.capture(property);
         }
+
+        this.shape = PropertyShape.of(captured);
+        this.captured = captured;
+    }
+
+    @NonNull PropertyShape shape() {
+        return this.shape;
+    }
+
+    @NonNull List<Property> captured() {
+        return Arrays.asList(this.captured);
+    }
+
+    @NonNull Map<String, Property> flattenedProperties() {
+        Map<String, Property> flattenedProperties = new LinkedHashMap<>();
+        new PropertyFlattener(flattenedProperties).flatten(this.captured());
+        return flattenedProperties;
     }
 
     @Override
     public @NonNull Iterator<Property> iterator() {
-        return this.flattenedProperties.values().iterator();
+        return this.flattenedProperties().values().iterator();
+    }
+
+    @Override
+    public long fingerprint() {
+        long fingerprint = this.captured.length;
+
+        for (int i = 0; i < this.captured.length; i++) {
+            // entries are summed so the fingerprint does not depend on declaration order
+            fingerprint += Fingerprints.entry(this.shape.fingerprint(i), Fingerprints.property(this.captured[i]));
+        }
+
+        return fingerprint;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(flattenedProperties);
+        int hash = 0;
+
+        for (int i = 0; i < this.captured.length; i++) {
+            hash += this.shape.name(i).hashCode() ^ this.captured[i].hashCode();
+        }
+
+        return hash;
     }
 
     @Override
@@ -65,21 +99,27 @@ public boolean equals(final Object that) {
             return true;
         }
 
-        Map<String, Property> targetProperties = propertySnapshot.flattenedProperties;
+        Property[] targetProperties = propertySnapshot.captured;
 
-        if (this.flattenedProperties.size() != targetProperties.size()) {
-            return false;
+        if (this.shape == propertySnapshot.shape) {
+            for (int i = 0; i < this.captured.length; i++) {
+                if (!this.captured[i].equals(targetProperties[i])) {
+                    return false;
+                }
+            }
+
+            return true;
         }
 
-        for (Map.Entry<String, Property> entry : this.flattenedProperties.entrySet()) {
-            String name = entry.getKey();
-            Property property = entry.getValue();
+        if (this.captured.length != targetProperties.length) {
+            return false;
+        }
 
-            if (!targetProperties.containsKey(name)) {
-                return false;
-            }
+        // differently ordered properties, look up every name in the sorted table of the target
+        for (int i = 0; i < this.captured.length; i++) {
+            int index = propertySnapshot.shape.indexOf(this.shape.name(i));
 
-            if (!targetProperties.get(name).equals(property)) {
+            if (index == -1 || !this.captured[i].equals(targetProperties[index])) {
                 return false;
             }
         }
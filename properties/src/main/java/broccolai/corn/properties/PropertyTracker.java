@@ -0,0 +1,294 @@
+/*
+ * This file is part of corn, licensed under the GNU Lesser General Public License (LGPL) version 3 license.
+ *
+ * Copyright (C)  2020-2023 broccolai
+ * Copyright (C)  2020-2023 Contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package broccolai.corn.properties;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * The states the values of a dirty map are compared against, shared by {@link DirtyPropertiesMapImpl} and
+ * {@link ConcurrentDirtyPropertiesMap}.
+ * <p>
+ * Every comparison remembers the state the value was compared with, which the next reset installs instead of
+ * taking a new snapshot, so values modified after being compared stay dirty. Either the full snapshot of every value
+ * is retained, or only its {@link PropertySnapshot#fingerprint()}.
+ *
+ * @param <K> the type of keys maintained by the map
+ */
+final class PropertyTracker<K> {
+
+    static final long UNVERSIONED = Long.MIN_VALUE;
+
+    private static final int MINIMUM_LEAF_SIZE = 256;
+
+    private final Map<K, Tracked> states;
+    private final boolean fingerprinted;
+
+    /**
+     * Create a tracker
+     *
+     * @param concurrent    Whether values are compared and reset from multiple threads at once
+     * @param fingerprinted Whether only fingerprints of the previous states are retained
+     */
+    PropertyTracker(final boolean concurrent, final boolean fingerprinted) {
+        this.states = concurrent ? new ConcurrentHashMap<>() : new HashMap<>();
+        this.fingerprinted = fingerprinted;
+    }
+
+    static long version(final @NonNull PropertyHolder propertyHolder) {
+        return propertyHolder instanceof VersionedPropertyHolder versioned ? versioned.version() : UNVERSIONED;
+    }
+
+    /**
+     * Run an action for every entry, in parallel on a pool, returning once all entries were processed
+     *
+     * @param pool    Pool to run on
+     * @param entries Entries to process
+     * @param action  Action receiving each entry and its index
+     * @param <E>     the type of entries
+     */
+    static <E> void scan(final @NonNull ForkJoinPool pool, final @NonNull List<E> entries, final @NonNull ObjIntConsumer<E> action) {
+        // a few tasks per worker to balance uneven snapshot costs, without splitting into tiny tasks
+        int leafSize = Math.max(MINIMUM_LEAF_SIZE, entries.size() / (pool.getParallelism() * 4));
+        pool.invoke(new Scan<>(entries, action, 0, entries.size(), leafSize));
+    }
+
+    /**
+     * Track the current state of a value, replacing its previous state
+     *
+     * @param key            Key of the value
+     * @param propertyHolder Value to track
+     */
+    void track(final @NonNull K key, final @NonNull PropertyHolder propertyHolder) {
+        // read before snapshotting, so a concurrent modification can only make the version outdated
+        long version = version(propertyHolder);
+        this.states.put(key, this.tracked(propertyHolder.properties(), version));
+    }
+
+    /**
+     * Compare a value against its previous state, remembering the state it was compared with for the next reset
+     *
+     * @param key            Key of the value
+     * @param propertyHolder Value to compare
+     * @return Snapshot the value was compared with if it changed, or null if it did not
+     */
+    @Nullable PropertySnapshot compare(final @NonNull K key, final @NonNull PropertyHolder propertyHolder) {
+        Tracked previous = this.states.get(key);
+
+        if (previous == null) {
+            return propertyHolder.properties();
+        }
+
+        if (previous.unchanged(propertyHolder)) {
+            previous.next = previous;
+            return null;
+        }
+
+        long version = version(propertyHolder);
+        PropertySnapshot current = propertyHolder.properties();
+
+        if (!previous.matches(current)) {
+            previous.next = this.tracked(current, version);
+            return current;
+        }
+
+        // the holder was modified back to its previous state, remember the version to skip it next time
+        previous.version = version;
+        previous.next = previous;
+        return null;
+    }
+
+    /**
+     * Snapshot a value that is already known to be dirty, remembering the snapshot for the next reset
+     *
+     * @param key            Key of the value
+     * @param propertyHolder Value to snapshot
+     * @return Current snapshot of the value
+     */
+    @NonNull PropertySnapshot snapshot(final @NonNull K key, final @NonNull PropertyHolder propertyHolder) {
+        Tracked previous = this.states.get(key);
+        long version = version(propertyHolder);
+        PropertySnapshot current = propertyHolder.properties();
+
+        if (previous != null) {
+            previous.next = this.tracked(current, version);
+        }
+
+        return current;
+    }
+
+    /**
+     * Reset the state of a value to the state it was last compared with, or to its current state if it was not
+     * compared since the last reset. Versioned values that were not modified keep their state.
+     *
+     * @param key            Key of the value
+     * @param propertyHolder Current value
+     * @return true if the value was compared since the last reset
+     */
+    boolean reset(final @NonNull K key, final @NonNull PropertyHolder propertyHolder) {
+        Tracked previous = this.states.get(key);
+
+        // values are tracked when they are put, so the key was removed in the meantime
+        if (previous == null) {
+            return false;
+        }
+
+        Tracked next = previous.next;
+
+        if (next == null) {
+            if (!previous.unchanged(propertyHolder)) {
+                long version = version(propertyHolder);
+                this.states.replace(key, previous, this.tracked(propertyHolder.properties(), version));
+            }
+
+            return false;
+        }
+
+        if (next == previous) {
+            previous.next = null;
+        } else {
+            this.states.replace(key, previous, next);
+        }
+
+        return true;
+    }
+
+    /**
+     * Reset the state of a value to a snapshot, if the value is tracked
+     *
+     * @param key      Key of the value
+     * @param snapshot Snapshot to compare against from now on
+     */
+    void reset(final @NonNull K key, final @NonNull PropertySnapshot snapshot) {
+        // the version of the snapshot is unknown, the next comparison picks up the current version
+        this.states.replace(key, this.tracked(snapshot, UNVERSIONED));
+    }
+
+    /**
+     * Ensure the full previous snapshots are retained, as required to compute changes
+     *
+     * @throws UnsupportedOperationException if only fingerprints are retained
+     */
+    void requireSnapshots() {
+        if (this.fingerprinted) {
+            throw new UnsupportedOperationException("Changes are unavailable when only fingerprints are retained");
+        }
+    }
+
+    /**
+     * Retrieve the snapshot a value is compared against
+     *
+     * @param key Key of the value
+     * @return Previous snapshot, or an empty snapshot if the value is not tracked or only its fingerprint is retained
+     */
+    @NonNull PropertySnapshot previous(final @NonNull K key) {
+        Tracked previous = this.states.get(key);
+        return previous != null && previous.snapshot != null ? previous.snapshot : PropertySnapshot.of();
+    }
+
+    void remove(final @NonNull Object key) {
+        this.states.remove(key);
+    }
+
+    void clear() {
+        this.states.clear();
+    }
+
+    private @NonNull Tracked tracked(final @NonNull PropertySnapshot snapshot, final long version) {
+        return this.fingerprinted
+                ? new Tracked(null, snapshot.fingerprint(), version)
+                : new Tracked(snapshot, 0, version);
+    }
+
+    private static final class Tracked {
+
+        // either the full snapshot is retained, or only its fingerprint
+        private final @Nullable PropertySnapshot snapshot;
+        private final long fingerprint;
+        private volatile long version;
+        // state of the value when it was last compared, installed by the next reset instead of taking a new snapshot
+        private volatile @Nullable Tracked next;
+
+        Tracked(final @Nullable PropertySnapshot snapshot, final long fingerprint, final long version) {
+            this.snapshot = snapshot;
+            this.fingerprint = fingerprint;
+            this.version = version;
+        }
+
+        boolean matches(final @NonNull PropertySnapshot current) {
+            if (this.snapshot != null) {
+                return this.snapshot.equals(current);
+            }
+
+            return this.fingerprint == current.fingerprint();
+        }
+
+        boolean unchanged(final @NonNull PropertyHolder propertyHolder) {
+            return this.version != UNVERSIONED && this.version == version(propertyHolder);
+        }
+
+    }
+
+    private static final class Scan<E> extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<E> entries;
+        private final ObjIntConsumer<E> action;
+        private final int from;
+        private final int to;
+        private final int leafSize;
+
+        Scan(final @NonNull List<E> entries, final @NonNull ObjIntConsumer<E> action, final int from, final int to, final int leafSize) {
+            this.entries = entries;
+            this.action = action;
+            this.from = from;
+            this.to = to;
+            this.leafSize = leafSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.to - this.from <= this.leafSize) {
+                for (int i = this.from; i < this.to; i++) {
+                    this.action.accept(this.entries.get(i), i);
+                }
+                return;
+            }
+
+            int middle = (this.from + this.to) >>> 1;
+            invokeAll(
+                    new Scan<>(this.entries, this.action, this.from, middle, this.leafSize),
+                    new Scan<>(this.entries, this.action, middle, this.to, this.leafSize)
+            );
+        }
+
+    }
+
+}
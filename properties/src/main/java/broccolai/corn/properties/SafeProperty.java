@@ -35,4 +35,48 @@ public interface SafeProperty extends Property {
         return new ObjectSafeProperty(name, object);
     }
 
+    /**
+     * Construct a Property with an int as it's value, without boxing it
+     *
+     * @param name  Name of the property
+     * @param value Value of the property
+     * @return Constructed Property
+     */
+    static @NonNull Property ofInt(final @NonNull String name, final int value) {
+        return new IntProperty(name, value);
+    }
+
+    /**
+     * Construct a Property with a long as it's value, without boxing it
+     *
+     * @param name  Name of the property
+     * @param value Value of the property
+     * @return Constructed Property
+     */
+    static @NonNull Property ofLong(final @NonNull String name, final long value) {
+        return new LongProperty(name, value);
+    }
+
+    /**
+     * Construct a Property with a double as it's value, without boxing it
+     *
+     * @param name  Name of the property
+     * @param value Value of the property
+     * @return Constructed Property
+     */
+    static @NonNull Property ofDouble(final @NonNull String name, final double value) {
+        return new DoubleProperty(name, value);
+    }
+
+    /**
+     * Construct a Property with a boolean as it's value, without boxing it
+     *
+     * @param name  Name of the property
+     * @param value Value of the property
+     * @return Constructed Property
+     */
+    static @NonNull Property ofBoolean(final @NonNull String name, final boolean value) {
+        return new BooleanProperty(name, value);
+    }
+
 }
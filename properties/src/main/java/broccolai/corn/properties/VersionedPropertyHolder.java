@@ -0,0 +1,39 @@
+/*
+ * This file is part of corn, licensed under the GNU Lesser General Public License (LGPL) version 3 license.
+ *
+ * Copyright (C)  2020-2023 broccolai
+ * Copyright (C)  2020-2023 Contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package broccolai.corn.properties;
+
+/**
+ * A {@link PropertyHolder} exposing a modification counter, allowing dirty tracking to skip snapshotting
+ * holders that have not been modified.
+ */
+public interface VersionedPropertyHolder extends PropertyHolder {
+
+    /**
+     * Get the modification counter of the holder.
+     * <p>
+     * The counter must change whenever a property of the holder changes, including properties of nested holders,
+     * and must never return to a previous value.
+     *
+     * @return Current modification counter
+     */
+    long version();
+
+}
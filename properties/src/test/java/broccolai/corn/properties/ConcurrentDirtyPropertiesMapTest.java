@@ -0,0 +1,277 @@
+/*
+ * This file is part of corn, licensed under the GNU Lesser General Public License (LGPL) version 3 license.
+ *
+ * Copyright (C)  2020-2023 broccolai
+ * Copyright (C)  2020-2023 Contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package broccolai.corn.properties;
+
+import broccolai.corn.properties.DirtyPropertiesMapTest.SomePropertyHolder;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class ConcurrentDirtyPropertiesMapTest {
+
+    @Test
+    void simpleChange() {
+        DirtyPropertiesMap<Integer, SomePropertyHolder> map = DirtyPropertiesMap.concurrent();
+        SomePropertyHolder holder = new SomePropertyHolder(1, "word");
+        map.put(1, holder);
+
+        assertThat(map.dirty()).isEmpty();
+
+        holder.number(2);
+        assertThat(map.dirty()).containsExactly(holder);
+
+        map.clean();
+        assertThat(map.dirty()).isEmpty();
+    }
+
+    @Test
+    void modifiedAfterScanStaysDirty() {
+        DirtyPropertiesMap<Integer, SomePropertyHolder> map = DirtyPropertiesMap.concurrent();
+        SomePropertyHolder holder = new SomePropertyHolder(1, "word");
+        map.put(1, holder);
+
+        holder.number(2);
+        assertThat(map.dirty()).containsExactly(holder);
+
+        holder.number(3);
+        map.clean();
+
+        assertThat(map.dirty()).containsExactly(holder);
+    }
+
+    @Test
+    void markedAfterScanStaysDirty() {
+        DirtyPropertiesMap<Integer, SomePropertyHolder> map = DirtyPropertiesMap.concurrent();
+        map.put(1, new SomePropertyHolder(1, "word"));
+        map.put(2, new SomePropertyHolder(2, "word"));
+
+        map.setDirty(1);
+        assertThat(map.dirty()).hasSize(1);
+
+        map.setDirty(1);
+        map.setDirty(2);
+        map.clean();
+
+        assertThat(map.dirty()).hasSize(2);
+    }
+
+    @Test
+    void dirtyUntilClean() {
+        DirtyPropertiesMap<Integer, SomePropertyHolder> map = DirtyPropertiesMap.concurrent();
+        SomePropertyHolder holder = new SomePropertyHolder(1, "word");
+        map.put(1, holder);
+
+        holder.number(2);
+        assertThat(map.isDirty(1)).isTrue();
+
+        // like the non-concurrent map, a value reported as dirty stays dirty until the next clean
+        holder.number(1);
+        assertThat(map.isDirty(1)).isTrue();
+
+        map.clean();
+        assertThat(map.isDirty(1)).isFalse();
+    }
+
+    @Test
+    void fingerprinted() {
+        DirtyPropertiesMap<Integer, SomePropertyHolder> map = DirtyPropertiesMap.concurrentFingerprinted();
+        SomePropertyHolder holder = new SomePropertyHolder(1, "Aa");
+        map.put(1, holder);
+
+        assertThat(map.dirty()).isEmpty();
+
+        holder.word("BB");
+        assertThat(map.dirty()).containsExactly(holder);
+        assertThrows(UnsupportedOperationException.class, map::changes);
+
+        map.clean();
+        assertThat(map.dirty()).isEmpty();
+    }
+
+    @Test
+    void stress() throws InterruptedException {
+        int keys = 64;
+        DirtyPropertiesMap<Integer, CounterHolder> map = DirtyPropertiesMap.concurrent();
+
+        for (int i = 0; i < keys; i++) {
+            map.put(i, new CounterHolder(i));
+        }
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        Map<Integer, Integer> saved = new HashMap<>();
+        Thread saver = new Thread(() -> {
+            while (running.get()) {
+                save(map, saved);
+            }
+        });
+
+        List<Thread> writers = new ArrayList<>();
+
+        for (int i = 0; i < 4; i++) {
+            writers.add(new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+
+                for (int j = 0; j < 20_000; j++) {
+                    int key = random.nextInt(keys);
+                    map.get(key).increment();
+
+                    if (j % 100 == 0) {
+                        map.setDirty(key);
+                    }
+                }
+            }));
+        }
+
+        saver.start();
+        writers.forEach(Thread::start);
+
+        for (final Thread writer : writers) {
+            writer.join();
+        }
+
+        running.set(false);
+        saver.join();
+        save(map, saved);
+
+        // every increment has been saved, nothing was lost between a scan and the following clean
+        for (int i = 0; i < keys; i++) {
+            assertThat(saved.getOrDefault(i, 0)).isEqualTo(map.get(i).counter());
+        }
+
+        assertThat(map.dirty()).isEmpty();
+    }
+
+    @Test
+    void markedWhileWritingStress() throws InterruptedException {
+        int keys = 16;
+        DirtyPropertiesMap<Integer, CounterHolder> map = DirtyPropertiesMap.concurrent();
+
+        for (int i = 0; i < keys; i++) {
+            map.put(i, new CounterHolder(i));
+        }
+
+        // the sink completes on its own threads, so keys are marked again while their batch is in flight
+        ExecutorService sinkExecutor = Executors.newFixedThreadPool(2);
+        Map<Integer, Integer> saved = new ConcurrentHashMap<>();
+        PropertySink<Integer, CounterHolder> sink = batch -> CompletableFuture.runAsync(
+                () -> batch.forEach((key, holder) -> saved.put(key, holder.marks())),
+                sinkExecutor
+        );
+        DirtyPropertiesFlusher<Integer, CounterHolder> flusher = DirtyPropertiesFlusher.builder(map, sink)
+                .batchSize(4)
+                .build();
+
+        List<Thread> writers = new ArrayList<>();
+
+        for (int i = 0; i < 4; i++) {
+            writers.add(new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+
+                for (int j = 0; j < 20_000; j++) {
+                    int key = random.nextInt(keys);
+                    // only marks make the holder dirty, its properties never change
+                    map.get(key).mark();
+                    map.setDirty(key);
+                }
+            }));
+        }
+
+        try {
+            writers.forEach(Thread::start);
+
+            while (writers.stream().anyMatch(Thread::isAlive)) {
+                flusher.flush();
+            }
+
+            for (final Thread writer : writers) {
+                writer.join();
+            }
+
+            while (flusher.inFlight() > 0 || !map.dirty().isEmpty()) {
+                flusher.flush().join();
+            }
+        } finally {
+            sinkExecutor.shutdownNow();
+        }
+
+        // every mark has been written, none was cleared by the acknowledgement of an earlier write
+        for (int i = 0; i < keys; i++) {
+            assertThat(saved.getOrDefault(i, 0)).isEqualTo(map.get(i).marks());
+        }
+    }
+
+    private static void save(final @NonNull DirtyPropertiesMap<Integer, CounterHolder> map, final @NonNull Map<Integer, Integer> saved) {
+        for (final CounterHolder holder : map.dirty()) {
+            saved.put(holder.id, holder.counter());
+        }
+
+        map.clean();
+    }
+
+    static final class CounterHolder implements PropertyHolder {
+
+        private final int id;
+        private final AtomicInteger counter = new AtomicInteger();
+        // changes that are not part of the properties, and only flushed through marks
+        private final AtomicInteger marks = new AtomicInteger();
+
+        CounterHolder(final int id) {
+            this.id = id;
+        }
+
+        void increment() {
+            this.counter.incrementAndGet();
+        }
+
+        void mark() {
+            this.marks.incrementAndGet();
+        }
+
+        int marks() {
+            return this.marks.get();
+        }
+
+        int counter() {
+            return this.counter.get();
+        }
+
+        @Override
+        public @NonNull PropertySnapshot properties() {
+            return PropertySnapshot.of(Property.of("counter", this.counter.get()));
+        }
+
+    }
+
+}
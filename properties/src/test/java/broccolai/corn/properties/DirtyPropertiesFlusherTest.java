@@ -0,0 +1,250 @@
+/*
+ * This file is part of corn, licensed under the GNU Lesser General Public License (LGPL) version 3 license.
+ *
+ * Copyright (C)  2020-2023 broccolai
+ * Copyright (C)  2020-2023 Contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package broccolai.corn.properties;
+
+import broccolai.corn.properties.DirtyPropertiesMapTest.SomePropertyHolder;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public final class DirtyPropertiesFlusherTest {
+
+    @Test
+    void flushWritesDirtyValues() {
+        DirtyPropertiesMap<Integer, SomePropertyHolder> map = holders(3);
+        InMemorySink sink = new InMemorySink(true);
+        DirtyPropertiesFlusher<Integer, SomePropertyHolder> flusher = DirtyPropertiesFlusher.builder(map, sink).build();
+
+        map.get(0).number(10);
+        map.get(2).number(10);
+        flusher.flush().join();
+
+        assertThat(sink.written()).containsExactly(0, 2);
+        assertThat(map.dirty()).isEmpty();
+    }
+
+    @Test
+    void batchesBySize() {
+        DirtyPropertiesMap<Integer, SomePropertyHolder> map = holders(5);
+        InMemorySink sink = new InMemorySink(true);
+        DirtyPropertiesFlusher<Integer, SomePropertyHolder> flusher = DirtyPropertiesFlusher.builder(map, sink)
+                .batchSize(2)
+                .build();
+
+        map.values().forEach(holder -> holder.number(10));
+        flusher.flush().join();
+
+        assertThat(sink.batches).hasSize(3);
+        assertThat(sink.written()).containsExactly(0, 1, 2, 3, 4);
+    }
+
+    @Test
+    void cleanOnlyAfterAcknowledgement() {
+        DirtyPropertiesMap<Integer, SomePropertyHolder> map = holders(2);
+        InMemorySink sink = new InMemorySink(false);
+        DirtyPropertiesFlusher<Integer, SomePropertyHolder> flusher = DirtyPropertiesFlusher.builder(map, sink).build();
+
+        map.get(1).number(10);
+        flusher.flush();
+
+        assertThat(map.isDirty(1)).isTrue();
+        assertThat(flusher.inFlight()).isEqualTo(1);
+
+        // values being written are not handed out again
+        flusher.flush();
+        assertThat(sink.batches).hasSize(1);
+
+        sink.futures.get(0).complete(null);
+        flusher.flush();
+
+        assertThat(map.dirty()).isEmpty();
+        assertThat(flusher.inFlight()).isEqualTo(0);
+        assertThat(sink.batches).hasSize(1);
+    }
+
+    @Test
+    void failedWritesAreRetried() {
+        DirtyPropertiesMap<Integer, SomePropertyHolder> map = holders(2);
+        InMemorySink sink = new InMemorySink(false);
+        DirtyPropertiesFlusher<Integer, SomePropertyHolder> flusher = DirtyPropertiesFlusher.builder(map, sink).build();
+
+        map.get(0).number(10);
+        CompletableFuture<Void> flush = flusher.flush();
+        sink.futures.get(0).completeExceptionally(new IllegalStateException("unavailable"));
+
+        assertThat(flush.isCompletedExceptionally()).isTrue();
+
+        flusher.flush();
+
+        assertThat(sink.batches).hasSize(2);
+        assertThat(sink.batches.get(1).keySet()).containsExactly(0);
+    }
+
+    @Test
+    void modifiedWhileWritingStaysDirty() {
+        DirtyPropertiesMap<Integer, SomePropertyHolder> map = holders(1);
+        InMemorySink sink = new InMemorySink(false);
+        DirtyPropertiesFlusher<Integer, SomePropertyHolder> flusher = DirtyPropertiesFlusher.builder(map, sink).build();
+
+        map.get(0).number(10);
+        flusher.flush();
+        map.get(0).number(11);
+        sink.futures.get(0).complete(null);
+        flusher.flush();
+
+        assertThat(sink.batches).hasSize(2);
+        assertThat(map.isDirty(0)).isTrue();
+    }
+
+    @Test
+    void markedWhileWritingIsFlushedInNextBatch() {
+        DirtyPropertiesMap<Integer, SomePropertyHolder> map = holders(1);
+        InMemorySink sink = new InMemorySink(false);
+        DirtyPropertiesFlusher<Integer, SomePropertyHolder> flusher = DirtyPropertiesFlusher.builder(map, sink).build();
+
+        map.setDirty(0);
+        flusher.flush();
+        map.setDirty(0);
+        sink.futures.get(0).complete(null);
+        flusher.flush();
+
+        assertThat(sink.batches).hasSize(2);
+        assertThat(sink.batches.get(1).keySet()).containsExactly(0);
+    }
+
+    @Test
+    void backpressure() {
+        DirtyPropertiesMap<Integer, SomePropertyHolder> map = holders(3);
+        InMemorySink sink = new InMemorySink(false);
+        DirtyPropertiesFlusher<Integer, SomePropertyHolder> flusher = DirtyPropertiesFlusher.builder(map, sink)
+                .batchSize(1)
+                .maxInFlight(1)
+                .build();
+
+        map.values().forEach(holder -> holder.number(10));
+        flusher.flush();
+        flusher.flush();
+
+        assertThat(sink.batches).hasSize(1);
+
+        sink.futures.get(0).complete(null);
+        flusher.flush();
+
+        assertThat(sink.batches).hasSize(2);
+        assertThat(map.dirty()).hasSize(2);
+    }
+
+    @Test
+    void scheduledFailuresAreReported() throws InterruptedException {
+        DirtyPropertiesMap<Integer, FailingHolder> map = DirtyPropertiesMap.hashmap();
+        FailingHolder holder = new FailingHolder();
+        map.put(0, holder);
+        holder.failing = true;
+
+        List<Throwable> failures = new CopyOnWriteArrayList<>();
+        CountDownLatch reported = new CountDownLatch(2);
+        PropertySink<Integer, FailingHolder> sink = batch -> CompletableFuture.completedFuture(null);
+        DirtyPropertiesFlusher<Integer, FailingHolder> flusher = DirtyPropertiesFlusher.builder(map, sink)
+                .failureHandler(failure -> {
+                    failures.add(failure);
+                    reported.countDown();
+                })
+                .build();
+
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        try {
+            flusher.schedule(executor, Duration.ofMillis(1));
+
+            // the second failure shows the flushes kept running after the first one threw
+            assertThat(reported.await(5, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(failures.get(0)).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static @NonNull DirtyPropertiesMap<Integer, SomePropertyHolder> holders(final int amount) {
+        DirtyPropertiesMap<Integer, SomePropertyHolder> map = DirtyPropertiesMap.from(new LinkedHashMap<>());
+
+        for (int i = 0; i < amount; i++) {
+            map.put(i, new SomePropertyHolder(i, "word"));
+        }
+
+        return map;
+    }
+
+    static final class FailingHolder implements PropertyHolder {
+
+        private volatile boolean failing;
+
+        @Override
+        public @NonNull PropertySnapshot properties() {
+            if (this.failing) {
+                throw new IllegalStateException("unavailable");
+            }
+
+            return PropertySnapshot.of();
+        }
+
+    }
+
+    static final class InMemorySink implements PropertySink<Integer, SomePropertyHolder> {
+
+        private final boolean acknowledge;
+        private final List<Map<Integer, SomePropertyHolder>> batches = new ArrayList<>();
+        private final List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+        InMemorySink(final boolean acknowledge) {
+            this.acknowledge = acknowledge;
+        }
+
+        @Override
+        public @NonNull CompletableFuture<?> write(final @NonNull Map<Integer, SomePropertyHolder> batch) {
+            this.batches.add(new LinkedHashMap<>(batch));
+
+            CompletableFuture<Void> future = this.acknowledge ? CompletableFuture.completedFuture(null) : new CompletableFuture<>();
+            this.futures.add(future);
+            return future;
+        }
+
+        List<Integer> written() {
+            List<Integer> written = new ArrayList<>();
+            this.batches.forEach(batch -> written.addAll(batch.keySet()));
+            return written;
+        }
+
+    }
+
+}
@@ -26,6 +26,13 @@
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
 import static com.google.common.truth.Truth.assertThat;
 
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
@@ -84,6 +91,207 @@ void changeNestedField() {
         assertThat(dirtyMap.dirty()).containsExactly(entryTwo);
     }
 
+    @Test
+    void versionedHolderSkipsSnapshot() {
+        DirtyPropertiesMap<Integer, SomeVersionedPropertyHolder> map = DirtyPropertiesMap.hashmap();
+        SomeVersionedPropertyHolder holder = new SomeVersionedPropertyHolder(5);
+        map.put(1, holder);
+
+        int snapshots = holder.snapshots;
+        assertThat(map.dirty()).isEmpty();
+        assertThat(holder.snapshots).isEqualTo(snapshots);
+
+        holder.number(6);
+        assertThat(map.dirty()).containsExactly(holder);
+    }
+
+    @Test
+    void versionedHolderChangedBack() {
+        DirtyPropertiesMap<Integer, SomeVersionedPropertyHolder> map = DirtyPropertiesMap.hashmap();
+        SomeVersionedPropertyHolder holder = new SomeVersionedPropertyHolder(5);
+        map.put(1, holder);
+
+        holder.number(6);
+        holder.number(5);
+        assertThat(map.dirty()).isEmpty();
+
+        int snapshots = holder.snapshots;
+        assertThat(map.dirty()).isEmpty();
+        assertThat(holder.snapshots).isEqualTo(snapshots);
+    }
+
+    @Test
+    void cleanReusesScannedSnapshots() {
+        DirtyPropertiesMap<Integer, SomeVersionedPropertyHolder> map = DirtyPropertiesMap.hashmap();
+        SomeVersionedPropertyHolder holder = new SomeVersionedPropertyHolder(5);
+        map.put(1, holder);
+
+        holder.number(6);
+        assertThat(map.dirty()).containsExactly(holder);
+
+        int snapshots = holder.snapshots;
+        map.clean();
+        assertThat(holder.snapshots).isEqualTo(snapshots);
+        assertThat(map.dirty()).isEmpty();
+    }
+
+    @Test
+    void cleanSkipsUnmodifiedVersionedHolders() {
+        DirtyPropertiesMap<Integer, SomeVersionedPropertyHolder> map = DirtyPropertiesMap.hashmap();
+        SomeVersionedPropertyHolder holder = new SomeVersionedPropertyHolder(5);
+        map.put(1, holder);
+
+        int snapshots = holder.snapshots;
+        map.clean();
+        map.clean();
+        assertThat(holder.snapshots).isEqualTo(snapshots);
+
+        holder.number(6);
+        map.clean();
+        assertThat(map.dirty()).isEmpty();
+
+        holder.number(5);
+        assertThat(map.dirty()).containsExactly(holder);
+    }
+
+    @Test
+    void modifiedAfterScanStaysDirty() {
+        DirtyPropertiesMap<Integer, SomeVersionedPropertyHolder> map = DirtyPropertiesMap.hashmap();
+        SomeVersionedPropertyHolder holder = new SomeVersionedPropertyHolder(5);
+        map.put(1, holder);
+
+        holder.number(6);
+        assertThat(map.dirty()).containsExactly(holder);
+
+        holder.number(7);
+        map.clean();
+        assertThat(map.dirty()).containsExactly(holder);
+    }
+
+    @Test
+    void fingerprinted() {
+        DirtyPropertiesMap<Integer, SomePropertyHolder> map = DirtyPropertiesMap.fingerprinted(new HashMap<>());
+        SomePropertyHolder holder = new SomePropertyHolder(5, "word");
+        map.put(1, holder);
+
+        assertThat(map.dirty()).isEmpty();
+
+        holder.word("other");
+        assertThat(map.dirty()).containsExactly(holder);
+
+        map.clean();
+        assertThat(map.dirty()).isEmpty();
+    }
+
+    @Test
+    void fingerprintedHashCollision() {
+        DirtyPropertiesMap<Integer, SomePropertyHolder> map = DirtyPropertiesMap.fingerprinted(new HashMap<>());
+        SomePropertyHolder holder = new SomePropertyHolder(5, "Aa");
+        map.put(1, holder);
+
+        // "Aa" and "BB" share their hash code
+        holder.word("BB");
+        assertThat(map.dirty()).containsExactly(holder);
+    }
+
+    @Test
+    void parallelScan() {
+        DirtyPropertiesMap<Integer, SomePropertyHolder> map = DirtyPropertiesMap.from(new LinkedHashMap<>());
+        List<SomePropertyHolder> expected = new ArrayList<>();
+
+        for (int i = 0; i < 10_000; i++) {
+            map.put(i, new SomePropertyHolder(i, "word"));
+        }
+
+        for (int i = 0; i < 10_000; i += 7) {
+            SomePropertyHolder holder = map.get(i);
+            holder.number(-i - 1);
+            expected.add(holder);
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertThat(map.dirty(pool, 0)).containsExactlyElementsIn(expected).inOrder();
+            assertThat(map.dirty()).containsExactlyElementsIn(expected).inOrder();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void changes() {
+        entryOne.word("changed");
+        entryTwo.someHolder.number(15);
+
+        Map<Integer, PropertyDiff> changes = dirtyMap.changes();
+
+        assertThat(changes.keySet()).containsExactly(1, 5);
+        assertThat(changes.get(1).changed()).containsExactly("word");
+        assertThat(changes.get(5).changed()).containsExactly("someHolder:number");
+    }
+
+    @Test
+    void changesSnapshotOnce() {
+        DirtyPropertiesMap<Integer, SomeVersionedPropertyHolder> map = DirtyPropertiesMap.hashmap();
+        SomeVersionedPropertyHolder holder = new SomeVersionedPropertyHolder(5);
+        map.put(1, holder);
+
+        holder.number(6);
+        int snapshots = holder.snapshots;
+        assertThat(map.changes().get(1).changed()).containsExactly("number");
+        assertThat(holder.snapshots).isEqualTo(snapshots + 1);
+
+        snapshots = holder.snapshots;
+        assertThat(map.changes().get(1).changed()).containsExactly("number");
+        map.clean();
+        assertThat(holder.snapshots).isEqualTo(snapshots + 1);
+        assertThat(map.dirty()).isEmpty();
+    }
+
+    @Test
+    void dirtySnapshot() {
+        DirtyPropertiesMap<Integer, SomeVersionedPropertyHolder> map = DirtyPropertiesMap.hashmap();
+        SomeVersionedPropertyHolder holder = new SomeVersionedPropertyHolder(5);
+        map.put(1, holder);
+
+        assertThat(map.dirtySnapshot(1)).isNull();
+        assertThat(map.dirtySnapshot(2)).isNull();
+
+        holder.number(6);
+        int snapshots = holder.snapshots;
+        assertThat(map.dirtySnapshot(1)).isEqualTo(PropertySnapshot.of(Property.of("number", 6)));
+        assertThat(holder.snapshots).isEqualTo(snapshots + 1);
+        assertThat(map.isDirty(1)).isTrue();
+    }
+
+    static final class SomeVersionedPropertyHolder implements VersionedPropertyHolder {
+
+        private int number;
+        private long version;
+        private int snapshots;
+
+        SomeVersionedPropertyHolder(final int number) {
+            this.number = number;
+        }
+
+        public void number(final int number) {
+            this.number = number;
+            this.version++;
+        }
+
+        @Override
+        public long version() {
+            return this.version;
+        }
+
+        @Override
+        public @NonNull PropertySnapshot properties() {
+            this.snapshots++;
+            return PropertySnapshot.of(Property.of("number", this.number));
+        }
+
+    }
+
     static final class SomePropertyHolder implements PropertyHolder {
 
         private int number;
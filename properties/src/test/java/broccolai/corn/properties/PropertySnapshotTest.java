@@ -0,0 +1,200 @@
+/*
+ * This file is part of corn, licensed under the GNU Lesser General Public License (LGPL) version 3 license.
+ *
+ * Copyright (C)  2020-2023 broccolai
+ * Copyright (C)  2020-2023 Contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package broccolai.corn.properties;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+
+class PropertySnapshotTest {
+
+    @Test
+    void equalFingerprints() {
+        PropertySnapshot first = PropertySnapshot.of(Property.of("number", 5), SafeProperty.of("word", "value"));
+        PropertySnapshot second = PropertySnapshot.of(SafeProperty.of("word", "value"), Property.of("number", 5));
+
+        assertThat(first.fingerprint()).isEqualTo(second.fingerprint());
+    }
+
+    @Test
+    void differentFingerprints() {
+        PropertySnapshot first = PropertySnapshot.of(Property.of("number", 5), Property.of("other", 6));
+        PropertySnapshot second = PropertySnapshot.of(Property.of("number", 6), Property.of("other", 5));
+
+        assertThat(first.fingerprint()).isNotEqualTo(second.fingerprint());
+    }
+
+    @Test
+    void sharedShape() {
+        PropertySnapshot first = new NumberHolder(1).properties();
+        PropertySnapshot second = new NumberHolder(2).properties();
+
+        assertThat(((PropertySnapshotImpl) first).shape()).isSameInstanceAs(((PropertySnapshotImpl) second).shape());
+    }
+
+    @Test
+    void equalityIgnoresOrder() {
+        PropertySnapshot first = PropertySnapshot.of(
+                Property.of("number", 5),
+                SafeProperty.of("word", "value"),
+                Property.of("nested", new NumberHolder(3))
+        );
+        PropertySnapshot second = PropertySnapshot.of(
+                Property.of("nested", new NumberHolder(3)),
+                Property.of("number", 5),
+                SafeProperty.of("word", "value")
+        );
+
+        assertThat(first).isEqualTo(second);
+        assertThat(first.hashCode()).isEqualTo(second.hashCode());
+        assertThat(first).isNotEqualTo(PropertySnapshot.of(
+                Property.of("nested", new NumberHolder(4)),
+                Property.of("number", 5),
+                SafeProperty.of("word", "value")
+        ));
+    }
+
+    @Test
+    void primitiveEquality() {
+        PropertySnapshot first = PropertySnapshot.of(
+                Property.ofInt("int", 1_000),
+                Property.ofLong("long", 1L << 40),
+                Property.ofDouble("double", Double.NaN),
+                SafeProperty.ofBoolean("boolean", true)
+        );
+        PropertySnapshot second = PropertySnapshot.of(
+                Property.ofInt("int", 1_000),
+                Property.ofLong("long", 1L << 40),
+                Property.ofDouble("double", Double.NaN),
+                SafeProperty.ofBoolean("boolean", true)
+        );
+
+        assertThat(first).isEqualTo(second);
+        assertThat(first.fingerprint()).isEqualTo(second.fingerprint());
+    }
+
+    @Test
+    void primitiveChanges() {
+        // both longs share the same hash code, so only a comparison of the values tells them apart
+        PropertySnapshot previous = PropertySnapshot.of(Property.ofLong("long", 0), Property.ofDouble("double", 0.0));
+        PropertySnapshot current = PropertySnapshot.of(Property.ofLong("long", 0x1_0000_0001L), Property.ofDouble("double", -0.0));
+
+        assertThat(current.diff(previous).changed()).containsExactly("long", "double");
+    }
+
+    @Test
+    void objectChanges() {
+        // null and 0 share their hash code, as do "Aa" and "BB"
+        PropertySnapshot previous = PropertySnapshot.of(Property.of("number", (Object) null), Property.of("word", "Aa"));
+        PropertySnapshot current = PropertySnapshot.of(Property.of("number", 0), Property.of("word", "BB"));
+
+        assertThat(current).isNotEqualTo(previous);
+        assertThat(current.diff(previous).changed()).containsExactly("number", "word");
+    }
+
+    @Test
+    void diff() {
+        PropertySnapshot previous = PropertySnapshot.of(
+                Property.of("number", 5),
+                Property.of("removed", 1),
+                Property.of("nested", new NumberHolder(3))
+        );
+        PropertySnapshot current = PropertySnapshot.of(
+                Property.of("number", 5),
+                Property.of("added", 1),
+                Property.of("nested", new NumberHolder(4))
+        );
+
+        PropertyDiff diff = current.diff(previous);
+
+        assertThat(diff.added()).containsExactly("added");
+        assertThat(diff.removed()).containsExactly("removed");
+        assertThat(diff.changed()).containsExactly("nested:number");
+        assertThat(current.diff(current).isEmpty()).isTrue();
+    }
+
+    @Test
+    void flattenedPaths() {
+        PropertySnapshot snapshot = PropertySnapshot.of(
+                Property.of("inventory", List.<PropertyHolder>of(new NumberHolder(1), new NumberHolder(2))),
+                Property.of("outer", new OuterHolder(new NumberHolder(3)))
+        );
+
+        PropertyDiff diff = snapshot.diff(PropertySnapshot.of());
+
+        assertThat(diff.added()).containsExactly("inventory:0:number", "inventory:1:number", "outer:inner:number").inOrder();
+    }
+
+    @Test
+    void collectionElementChange() {
+        List<PropertyHolder> previous = List.of(new NumberHolder(1), new NumberHolder(2));
+        List<PropertyHolder> current = List.of(new NumberHolder(5), new NumberHolder(2));
+
+        PropertyDiff diff = PropertySnapshot.of(Property.of("inventory", current))
+                .diff(PropertySnapshot.of(Property.of("inventory", previous)));
+
+        assertThat(diff.changed()).containsExactly("inventory:0:number");
+    }
+
+    @Test
+    void nestedStateCapturedOnCreation() {
+        MutableHolder holder = new MutableHolder();
+        holder.number = 1;
+
+        PropertySnapshot snapshot = PropertySnapshot.of(Property.of("nested", holder));
+        holder.number = 2;
+
+        assertThat(snapshot).isNotEqualTo(PropertySnapshot.of(Property.of("nested", holder)));
+    }
+
+    static final class MutableHolder implements PropertyHolder {
+
+        private int number;
+
+        @Override
+        public @NonNull PropertySnapshot properties() {
+            return PropertySnapshot.of(Property.of("number", this.number));
+        }
+
+    }
+
+    record OuterHolder(NumberHolder inner) implements PropertyHolder {
+
+        @Override
+        public @NonNull PropertySnapshot properties() {
+            return PropertySnapshot.of(Property.of("inner", this.inner));
+        }
+
+    }
+
+    record NumberHolder(int number) implements PropertyHolder {
+
+        @Override
+        public @NonNull PropertySnapshot properties() {
+            return PropertySnapshot.of(Property.of("number", this.number));
+        }
+
+    }
+
+}
@@ -5,7 +5,7 @@
 
 rootProject.name = "corn-parent"
 
-basicProjects("misc", "context", "properties")
+basicProjects("misc", "context", "properties", "benchmarks")
 minecraftProjects("spigot", "paper")
 
 fun basicProjects(vararg names: String) {